@@ -0,0 +1,112 @@
+package com.bhavani.resumeforge.benchmark;
+
+import com.bhavani.resumeforge.document.Resume;
+import com.bhavani.resumeforge.document.User;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared data and wiring helpers for the benchmarks; beans are built by hand, without a context.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String JWT_SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Sets a {@code @Value} field the way the container would.
+     */
+    public static void setField(Object target, String name, Object value) {
+        Class<?> type = target.getClass();
+        while (type != null) {
+            try {
+                Field field = type.getDeclaredField(name);
+                field.setAccessible(true);
+                field.set(target, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                type = type.getSuperclass();
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new IllegalArgumentException("No field " + name + " on " + target.getClass());
+    }
+
+    public static User user() {
+        return User.builder()
+                .id("65f0c0ffee0123456789abcd")
+                .name("Benchmark User")
+                .email("bench@resumeforge.dev")
+                .subscriptionPlan("premium")
+                .emailVerified(true)
+                .tokenVersion(0)
+                .build();
+    }
+
+    /**
+     * A resume at the heavy end of what users save: every section filled, long descriptions.
+     */
+    public static Resume largeResume() {
+        String paragraph = "Led the migration of a monolith to event-driven services, cutting p99 latency by 40% "
+                + "and on-call pages by half; mentored five engineers and owned the delivery roadmap. ";
+
+        List<Resume.WorkExperience> experiences = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            experiences.add(new Resume.WorkExperience("Company " + i, "Senior Engineer " + i,
+                    "2015-0" + (i % 9 + 1), "2017-0" + (i % 9 + 1), paragraph.repeat(4)));
+        }
+        List<Resume.Education> educations = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            educations.add(new Resume.Education("Degree " + i, "University " + i, "2008", "2012"));
+        }
+        List<Resume.Skill> skills = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            skills.add(new Resume.Skill("Skill " + i, 50 + i));
+        }
+        List<Resume.Project> projects = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            projects.add(new Resume.Project("Project " + i, paragraph.repeat(2),
+                    "https://github.com/example/project-" + i, "https://project-" + i + ".example.com"));
+        }
+        List<Resume.Certification> certifications = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            certifications.add(new Resume.Certification("Certification " + i, "Issuer " + i, "20" + (10 + i)));
+        }
+        List<Resume.Language> languages = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            languages.add(new Resume.Language("Language " + i, 60 + i * 5));
+        }
+        List<String> interests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            interests.add("Interest " + i);
+        }
+
+        return Resume.builder()
+                .id("65f0c0ffee0123456789abce")
+                .userId(user().getId())
+                .title("Staff Engineer Resume")
+                .thumbnailLink("https://res.cloudinary.com/demo/image/upload/thumbnail.jpg")
+                .template(new Resume.Template("01", List.of("#2563eb", "#1f2937")))
+                .profileInfo(new Resume.ProfileInfo("https://res.cloudinary.com/demo/image/upload/profile.jpg",
+                        "Benchmark User", "Staff Software Engineer", paragraph.repeat(3)))
+                .contactInfo(new Resume.ContactInfo("bench@resumeforge.dev", "+91 90000 00000", "Bengaluru, India",
+                        "https://linkedin.com/in/bench", "https://github.com/bench", "https://bench.dev"))
+                .workExperiences(experiences)
+                .educations(educations)
+                .skills(skills)
+                .projects(projects)
+                .certifications(certifications)
+                .languages(languages)
+                .interests(interests)
+                .revision(42L)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 10, 0))
+                .updatedAt(LocalDateTime.of(2024, 6, 1, 10, 0))
+                .build();
+    }
+}
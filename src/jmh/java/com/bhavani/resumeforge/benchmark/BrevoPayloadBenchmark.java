@@ -0,0 +1,81 @@
+package com.bhavani.resumeforge.benchmark;
+
+import com.bhavani.resumeforge.integration.OutboundGuard;
+import com.bhavani.resumeforge.service.EmailService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sending a resume through Brevo, with the attachment streamed from the PDF into the request
+ * body. The request body is discarded, so this measures building the payload; run with
+ * {@code -prof gc} to see that allocation stays flat as the attachment grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BrevoPayloadBenchmark {
+
+    @Param({"262144", "2097152", "8388608"})
+    public int attachmentBytes;
+
+    private EmailService emailService;
+
+    private byte[] attachment;
+
+    private String htmlBody;
+
+    @Setup
+    public void setUp() {
+        // every request writes into a null stream and gets a 200 back
+        RestTemplate restTemplate = new RestTemplate((uri, method) -> {
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri) {
+                @Override
+                public OutputStream getBody() {
+                    return OutputStream.nullOutputStream();
+                }
+            };
+            request.setResponse(new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+            return request;
+        });
+        OutboundGuard outboundGuard = new OutboundGuard(new SimpleMeterRegistry(), new StandardEnvironment());
+        emailService = new EmailService(restTemplate, outboundGuard, JsonMapper.builder().build());
+        BenchmarkFixtures.setField(emailService, "apiUrl", "http://brevo.invalid/v3/smtp/email");
+        BenchmarkFixtures.setField(emailService, "apiKey", "benchmark");
+        BenchmarkFixtures.setField(emailService, "senderName", "ResumeForge");
+        BenchmarkFixtures.setField(emailService, "senderEmail", "no-reply@resumeforge.dev");
+
+        attachment = new byte[attachmentBytes];
+        new Random(42).nextBytes(attachment);
+        htmlBody = "<p>Please find my resume attached.</p>".repeat(20);
+    }
+
+    @Benchmark
+    public void sendWithAttachment() {
+        emailService.sentEmailWithAttachment("hr@example.com", "Resume Application", htmlBody,
+                new ByteArrayInputStream(attachment), "resume.pdf");
+    }
+}
@@ -0,0 +1,99 @@
+package com.bhavani.resumeforge.benchmark;
+
+import com.bhavani.resumeforge.document.User;
+import com.bhavani.resumeforge.repository.UserRepository;
+import com.bhavani.resumeforge.security.JwtAuthenticationFilter;
+import com.bhavani.resumeforge.security.UserSnapshotCache;
+import com.bhavani.resumeforge.service.ProfileCache;
+import com.bhavani.resumeforge.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * The authentication filter end to end for one request, with the user repository mocked
+ * so the numbers show the filter's own cost in both principal modes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean statelessPrincipal;
+
+    private JwtAuthenticationFilter filter;
+
+    private HttpServletRequest request;
+
+    private HttpServletResponse response;
+
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        User user = BenchmarkFixtures.user();
+        // stub-only mocks keep no invocation history, so memory stays flat over millions of calls
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwtUtil jwtUtil = JwtBenchmark.jwtUtil(10_000);
+
+        UserSnapshotCache userSnapshotCache = new UserSnapshotCache(userRepository);
+        BenchmarkFixtures.setField(userSnapshotCache, "ttlSeconds", 60L);
+        BenchmarkFixtures.setField(userSnapshotCache, "maxSize", 10_000);
+        userSnapshotCache.init();
+
+        ProfileCache profileCache = new ProfileCache(userRepository, meterRegistry);
+        BenchmarkFixtures.setField(profileCache, "ttlSeconds", 30L);
+        BenchmarkFixtures.setField(profileCache, "maxSize", 10_000);
+        profileCache.init();
+
+        filter = new JwtAuthenticationFilter(jwtUtil, userRepository, userSnapshotCache, profileCache, meterRegistry);
+        BenchmarkFixtures.setField(filter, "statelessPrincipal", statelessPrincipal);
+
+        String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getSubscriptionPlan(), 0);
+        request = mock(HttpServletRequest.class, withSettings().stubOnly());
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        response = mock(HttpServletResponse.class, withSettings().stubOnly());
+        chain = (req, res) -> {
+        };
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws ServletException, IOException {
+        try {
+            filter.doFilter(request, response, chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.bhavani.resumeforge.benchmark;
+
+import com.bhavani.resumeforge.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification. {@code verifyCached} is the steady state of the filter,
+ * {@code verifyUncached} pays the HMAC check on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil cachingJwtUtil;
+
+    private JwtUtil uncachedJwtUtil;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtil = jwtUtil(10_000);
+        uncachedJwtUtil = jwtUtil(0);
+        token = cachingJwtUtil.generateToken(BenchmarkFixtures.user().getId(), "bench@resumeforge.dev", "premium", 0);
+    }
+
+    static JwtUtil jwtUtil(int cacheMaxSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        BenchmarkFixtures.setField(jwtUtil, "jwtSecret", BenchmarkFixtures.JWT_SECRET);
+        BenchmarkFixtures.setField(jwtUtil, "jwtExpiration", 604800000L);
+        BenchmarkFixtures.setField(jwtUtil, "cacheMaxSize", cacheMaxSize);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    @Benchmark
+    public String generate() {
+        return cachingJwtUtil.generateToken(BenchmarkFixtures.user().getId(), "bench@resumeforge.dev", "premium", 0);
+    }
+
+    @Benchmark
+    public Claims verifyCached() {
+        return cachingJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public Claims verifyUncached() {
+        return uncachedJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return cachingJwtUtil.validateToken(token);
+    }
+}
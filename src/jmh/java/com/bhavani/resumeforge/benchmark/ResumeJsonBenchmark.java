@@ -0,0 +1,52 @@
+package com.bhavani.resumeforge.benchmark;
+
+import com.bhavani.resumeforge.document.Resume;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of a large resume, the body of GET and PUT /api/resumes/{id}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResumeJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private Resume resume;
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder().build();
+        resume = BenchmarkFixtures.largeResume();
+        json = objectMapper.writeValueAsBytes(resume);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return objectMapper.writeValueAsBytes(resume);
+    }
+
+    @Benchmark
+    public Resume deserialize() {
+        return objectMapper.readValue(json, Resume.class);
+    }
+}
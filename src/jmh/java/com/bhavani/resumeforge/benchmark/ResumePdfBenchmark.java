@@ -0,0 +1,62 @@
+package com.bhavani.resumeforge.benchmark;
+
+import com.bhavani.resumeforge.document.Resume;
+import com.bhavani.resumeforge.pdf.ResumePdfRenderer;
+import com.bhavani.resumeforge.service.ResumePdfService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-side render time of a large resume for each template, through the render pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResumePdfBenchmark {
+
+    @Param({"01", "02", "03"})
+    public String templateId;
+
+    private ResumePdfService resumePdfService;
+
+    private Resume resume;
+
+    @Setup
+    public void setUp() {
+        resumePdfService = new ResumePdfService(new ResumePdfRenderer(), new SimpleMeterRegistry());
+        BenchmarkFixtures.setField(resumePdfService, "threads", 1);
+        BenchmarkFixtures.setField(resumePdfService, "queueCapacity", 4);
+        BenchmarkFixtures.setField(resumePdfService, "timeoutMs", 60_000L);
+        resumePdfService.start();
+
+        resume = BenchmarkFixtures.largeResume();
+        resume.setTemplate(new Resume.Template(templateId, List.of()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        resumePdfService.stop();
+    }
+
+    @Benchmark
+    public byte[] render() {
+        return resumePdfService.renderToBytes(resume);
+    }
+}
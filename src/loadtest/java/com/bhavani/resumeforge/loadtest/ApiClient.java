@@ -0,0 +1,74 @@
+package com.bhavani.resumeforge.loadtest;
+
+import tools.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Thin HTTP client for the scenarios; every call is timed into the {@link LatencyRecorder}
+ * under its endpoint name.
+ */
+final class ApiClient {
+
+    private final HttpClient http;
+
+    private final String baseUrl;
+
+    private final LatencyRecorder recorder;
+
+    private final ObjectMapper objectMapper;
+
+    ApiClient(HttpClient http, String baseUrl, LatencyRecorder recorder, ObjectMapper objectMapper) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+        this.objectMapper = objectMapper;
+    }
+
+    HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    HttpRequest.BodyPublisher json(Object body) {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    /**
+     * Sends the request and records it; 2xx and 304 count as success. Returns null on I/O failure.
+     */
+    HttpResponse<byte[]> send(String endpoint, HttpRequest request) {
+        long startNanos = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            int status = response.statusCode();
+            recorder.record(endpoint, System.nanoTime() - startNanos, (status >= 200 && status < 300) || status == 304);
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            recorder.record(endpoint, System.nanoTime() - startNanos, false);
+            return null;
+        } catch (Exception e) {
+            recorder.record(endpoint, System.nanoTime() - startNanos, false);
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    Map<String, Object> body(HttpResponse<byte[]> response) {
+        return objectMapper.readValue(response.body(), Map.class);
+    }
+
+    static boolean ok(HttpResponse<?> response) {
+        return response != null && response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+}
@@ -0,0 +1,127 @@
+package com.bhavani.resumeforge.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One HDR histogram per endpoint (microsecond resolution, up to one minute) plus error counts.
+ */
+public final class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    private final long startMillis = System.currentTimeMillis();
+
+    /**
+     * What one run measured, kept so two runs can be compared.
+     */
+    public record Report(Map<String, Histogram> histograms, Map<String, Long> errors, long elapsedMillis) {
+
+        double throughput(String endpoint) {
+            Histogram histogram = histograms.get(endpoint);
+            return histogram == null ? 0 : histogram.getTotalCount() * 1000.0 / Math.max(1, elapsedMillis);
+        }
+
+        double percentileMillis(String endpoint, double percentile) {
+            Histogram histogram = histograms.get(endpoint);
+            return histogram == null ? 0 : millis(histogram.getValueAtPercentile(percentile));
+        }
+    }
+
+    public void record(String endpoint, long latencyNanos, boolean success) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        recorders.computeIfAbsent(endpoint, key -> new Recorder(HIGHEST_TRACKABLE_MICROS, 3))
+                .recordValue(micros);
+        if (!success) {
+            errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Prints a percentile table and writes {@code <endpoint>.hlog} / {@code .hgrm} files to the report directory.
+     */
+    public Report report(Path directory, long elapsedMillis) throws Exception {
+        Files.createDirectories(directory);
+        Map<String, Histogram> histograms = new TreeMap<>();
+        recorders.forEach((endpoint, recorder) -> histograms.put(endpoint, recorder.getIntervalHistogram()));
+        Map<String, Long> errorCounts = new TreeMap<>();
+
+        System.out.printf("%n%-16s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            String endpoint = entry.getKey();
+            Histogram histogram = entry.getValue();
+            long errorCount = errors.getOrDefault(endpoint, new LongAdder()).sum();
+            errorCounts.put(endpoint, errorCount);
+            System.out.printf("%-16s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint,
+                    histogram.getTotalCount(),
+                    errorCount,
+                    histogram.getTotalCount() * 1000.0 / Math.max(1, elapsedMillis),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+            write(directory, endpoint, histogram);
+        }
+        System.out.println("\nHistograms written to " + directory.toAbsolutePath());
+        return new Report(histograms, errorCounts, elapsedMillis);
+    }
+
+    /**
+     * Prints two runs of the same scenario side by side: throughput, p50 and p99 per endpoint.
+     */
+    public static void printComparison(String labelA, Report a, String labelB, Report b) {
+        Map<String, Histogram> endpoints = new TreeMap<>(a.histograms());
+        b.histograms().forEach(endpoints::putIfAbsent);
+
+        System.out.printf("%n%-16s %21s %21s %21s %15s%n", "", "req/s", "p50 ms", "p99 ms", "errors");
+        System.out.printf("%-16s %10s %10s %10s %10s %10s %10s %7s %7s%n",
+                "endpoint", labelA, labelB, labelA, labelB, labelA, labelB, labelA, labelB);
+        for (String endpoint : endpoints.keySet()) {
+            System.out.printf("%-16s %10.1f %10.1f %10.2f %10.2f %10.2f %10.2f %7d %7d%n",
+                    endpoint,
+                    a.throughput(endpoint), b.throughput(endpoint),
+                    a.percentileMillis(endpoint, 50), b.percentileMillis(endpoint, 50),
+                    a.percentileMillis(endpoint, 99), b.percentileMillis(endpoint, 99),
+                    a.errors().getOrDefault(endpoint, 0L), b.errors().getOrDefault(endpoint, 0L));
+        }
+    }
+
+    private void write(Path directory, String endpoint, Histogram histogram) throws FileNotFoundException {
+        String fileName = endpoint.replaceAll("[^A-Za-z0-9_-]", "_");
+        histogram.setStartTimeStamp(startMillis);
+        histogram.setEndTimeStamp(System.currentTimeMillis());
+        try (PrintStream log = new PrintStream(directory.resolve(fileName + ".hlog").toFile())) {
+            HistogramLogWriter writer = new HistogramLogWriter(log);
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(startMillis);
+            writer.outputLegend();
+            writer.outputIntervalHistogram(histogram);
+        }
+        try (PrintStream distribution = new PrintStream(directory.resolve(fileName + ".hgrm").toFile())) {
+            // values are recorded in microseconds, scaled to milliseconds in the output
+            histogram.outputPercentileDistribution(distribution, 1000.0);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
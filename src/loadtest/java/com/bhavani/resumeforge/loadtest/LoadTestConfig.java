@@ -0,0 +1,48 @@
+package com.bhavani.resumeforge.loadtest;
+
+/**
+ * Harness settings, read from system properties ({@code -Dloadtest.users=200 ...}).
+ */
+public record LoadTestConfig(
+        int users,
+        int durationSeconds,
+        int rampSeconds,
+        long thinkTimeMs,
+        double uploadRatio,
+        double paymentRatio,
+        String mongodBinary,
+        String mongodbUri,
+        String targetUrl,
+        String reportDirectory,
+        boolean compareVirtualThreads,
+        StubBehaviour brevo,
+        StubBehaviour cloudinary,
+        StubBehaviour razorpay
+) {
+
+    public static final String RAZORPAY_KEY_SECRET = "loadtest-razorpay-secret";
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.users", 50),
+                Integer.getInteger("loadtest.duration-seconds", 60),
+                Integer.getInteger("loadtest.ramp-seconds", 10),
+                Long.getLong("loadtest.think-time-ms", 0L),
+                doubleProperty("loadtest.upload-ratio", 0.2),
+                doubleProperty("loadtest.payment-ratio", 0.1),
+                System.getProperty("loadtest.mongod", "mongod"),
+                System.getProperty("loadtest.mongodb-uri", ""),
+                System.getProperty("loadtest.target-url", ""),
+                System.getProperty("loadtest.report-dir", "target/loadtest"),
+                Boolean.getBoolean("loadtest.compare-virtual-threads"),
+                StubBehaviour.fromSystemProperties("brevo", 80),
+                StubBehaviour.fromSystemProperties("cloudinary", 400),
+                StubBehaviour.fromSystemProperties("razorpay", 250)
+        );
+    }
+
+    static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : Double.parseDouble(value);
+    }
+}
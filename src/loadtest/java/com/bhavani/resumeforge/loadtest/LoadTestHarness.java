@@ -0,0 +1,172 @@
+package com.bhavani.resumeforge.loadtest;
+
+import com.bhavani.resumeforge.ResumeforgeApplication;
+import com.bhavani.resumeforge.support.LocalMongod;
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the app against a local mongod and vendor stand-ins and drives it with virtual users.
+ * <p>
+ * {@code mvn -Ploadtest verify -Dloadtest.args="-Dloadtest.users=200 -Dstub.cloudinary.error-rate=0.05"}
+ * <p>
+ * {@code -Dloadtest.compare-virtual-threads=true} runs the same scenario twice, with
+ * spring.threads.virtual.enabled false and then true, against a fresh database each time,
+ * and prints the two latency tables side by side.
+ * <p>
+ * Set {@code loadtest.target-url} and {@code loadtest.mongodb-uri} to drive an app that is
+ * already running instead (it must use {@link LoadTestConfig#RAZORPAY_KEY_SECRET} and point
+ * brevo.api.url / cloudinary.upload-prefix at stubs of its own).
+ */
+public final class LoadTestHarness {
+
+    private static final String DATABASE = "resumeforge_loadtest";
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        boolean embedded = config.targetUrl().isBlank();
+        if (config.compareVirtualThreads() && !embedded) {
+            throw new IllegalArgumentException("loadtest.compare-virtual-threads restarts the app, unset loadtest.target-url");
+        }
+
+        LocalMongod mongod = null;
+        VendorStubs stubs = null;
+        try {
+            //Step 1: mongo, either ours or the given one
+            String mongodbUri = config.mongodbUri();
+            if (mongodbUri.isBlank()) {
+                mongod = LocalMongod.start(config.mongodBinary());
+                mongodbUri = mongod.uri(DATABASE);
+            }
+
+            //Step 2: an app that is already running is driven as it is
+            if (!embedded) {
+                run(config, config.targetUrl(), mongodbUri, Path.of(config.reportDirectory()));
+                return;
+            }
+
+            //Step 3: otherwise start the vendors and the app, once per thread mode being compared
+            stubs = VendorStubs.start(config.brevo(), config.cloudinary());
+            if (!config.compareVirtualThreads()) {
+                runEmbedded(config, mongodbUri, stubs, null, Path.of(config.reportDirectory()));
+                return;
+            }
+            // same scenario, same empty database, only spring.threads.virtual.enabled differs
+            LatencyRecorder.Report platform = runEmbedded(config, mongodbUri, stubs, false,
+                    Path.of(config.reportDirectory(), "platform"));
+            dropDatabase(mongodbUri);
+            LatencyRecorder.Report virtual = runEmbedded(config, mongodbUri, stubs, true,
+                    Path.of(config.reportDirectory(), "virtual"));
+            LatencyRecorder.printComparison("platform", platform, "virtual", virtual);
+        } finally {
+            if (stubs != null) {
+                stubs.close();
+            }
+            if (mongod != null) {
+                mongod.close();
+            }
+        }
+    }
+
+    /**
+     * @param virtualThreads value for spring.threads.virtual.enabled, null to keep the app's own setting
+     */
+    private static LatencyRecorder.Report runEmbedded(LoadTestConfig config, String mongodbUri, VendorStubs stubs,
+                                                      Boolean virtualThreads, Path reportDirectory) throws Exception {
+        if (virtualThreads != null) {
+            System.out.printf("%n=== %s threads ===%n", virtualThreads ? "virtual" : "platform");
+        }
+        try (ConfigurableApplicationContext app = startApp(mongodbUri, stubs, config, virtualThreads)) {
+            String baseUrl = "http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port");
+            return run(config, baseUrl, mongodbUri, reportDirectory);
+        }
+    }
+
+    private static void dropDatabase(String mongodbUri) {
+        String database = new ConnectionString(mongodbUri).getDatabase();
+        try (MongoClient mongo = MongoClients.create(mongodbUri)) {
+            mongo.getDatabase(database == null ? DATABASE : database).drop();
+        }
+    }
+
+    private static ConfigurableApplicationContext startApp(String mongodbUri, VendorStubs stubs, LoadTestConfig config,
+                                                           Boolean virtualThreads) {
+        SpringApplication application = new SpringApplication(ResumeforgeApplication.class);
+        application.addInitializers(context ->
+                context.getBeanFactory().addBeanPostProcessor(new RazorpayStandIn(config.razorpay())));
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.profiles.active=loadtest",
+                "--server.port=0",
+                "--spring.mongodb.uri=" + mongodbUri,
+                "--app.base.url=http://localhost",
+                "--jwt.secret=loadtest-secret-loadtest-secret-loadtest-secret-0123456789",
+                "--brevo.api.key=loadtest",
+                "--brevo.sender.email=no-reply@loadtest.resumeforge.dev",
+                "--brevo.sender.name=ResumeForge",
+                "--brevo.api.url=" + stubs.baseUrl() + "/v3/smtp/email",
+                "--cloudinary.cloud-name=loadtest",
+                "--cloudinary.api-key=loadtest",
+                "--cloudinary.api-secret=loadtest",
+                "--cloudinary.upload-prefix=" + stubs.baseUrl(),
+                "--razorpay.key.id=rzp_test_loadtest",
+                "--razorpay.key.secret=" + LoadTestConfig.RAZORPAY_KEY_SECRET,
+                "--logging.level.com.bhavani.resumeforge=WARN"
+        ));
+        if (virtualThreads != null) {
+            // a command-line argument, so it wins over VIRTUAL_THREADS_ENABLED in application.properties
+            arguments.add("--spring.threads.virtual.enabled=" + virtualThreads);
+        }
+        return application.run(arguments.toArray(String[]::new));
+    }
+
+    private static LatencyRecorder.Report run(LoadTestConfig config, String baseUrl, String mongodbUri,
+                                              Path reportDirectory) throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        ApiClient api = new ApiClient(http, baseUrl, recorder, JsonMapper.builder().build());
+
+        System.out.printf("Driving %s with %d users for %ds (ramp %ds)%n",
+                baseUrl, config.users(), config.durationSeconds(), config.rampSeconds());
+
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + TimeUnit.SECONDS.toNanos(config.rampSeconds() + config.durationSeconds());
+        String database = new ConnectionString(mongodbUri).getDatabase();
+        try (MongoClient mongo = MongoClients.create(mongodbUri);
+             ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<VirtualUser> virtualUsers = new ArrayList<>();
+            for (int i = 0; i < config.users(); i++) {
+                virtualUsers.add(new VirtualUser(api,
+                        mongo.getDatabase(database == null ? DATABASE : database).getCollection("users"),
+                        config, deadlineNanos));
+            }
+            // spread user arrival over the ramp so sign-ups do not all land in the first second
+            long rampStepNanos = config.users() > 1
+                    ? TimeUnit.SECONDS.toNanos(config.rampSeconds()) / (config.users() - 1) : 0;
+            for (VirtualUser virtualUser : virtualUsers) {
+                users.submit(virtualUser);
+                TimeUnit.NANOSECONDS.sleep(rampStepNanos);
+            }
+        }
+
+        return recorder.report(reportDirectory, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+}
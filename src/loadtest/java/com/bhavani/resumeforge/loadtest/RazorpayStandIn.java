@@ -0,0 +1,69 @@
+package com.bhavani.resumeforge.loadtest;
+
+import com.razorpay.Order;
+import com.razorpay.OrderClient;
+import com.razorpay.RazorpayClient;
+import com.razorpay.RazorpayException;
+import org.json.JSONObject;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.lang.reflect.Field;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * The Razorpay SDK always calls api.razorpay.com over https, so instead of an HTTP stub the
+ * harness swaps the client's order API for an in-process one with the same latency and
+ * failure injection. Everything above the SDK (guard, service, controller) runs unchanged.
+ */
+final class RazorpayStandIn implements BeanPostProcessor {
+
+    private final StubBehaviour behaviour;
+
+    RazorpayStandIn(StubBehaviour behaviour) {
+        this.behaviour = behaviour;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof RazorpayClient client) {
+            try {
+                OrderClient orders = mock(OrderClient.class, withSettings().stubOnly());
+                when(orders.create(any(JSONObject.class))).thenAnswer(invocation -> {
+                    if (behaviour.simulate()) {
+                        throw new RazorpayException("BAD_REQUEST_ERROR: injected failure");
+                    }
+                    JSONObject request = invocation.getArgument(0);
+                    return new Order(new JSONObject()
+                            .put("id", "order_" + UUID.randomUUID().toString().replace("-", "").substring(0, 14))
+                            .put("entity", "order")
+                            .put("amount", request.get("amount"))
+                            .put("currency", request.get("currency"))
+                            .put("receipt", request.get("receipt"))
+                            .put("status", "created"));
+                });
+                // nobody pays in the harness, so reconciliation always sees an unpaid order
+                when(orders.fetch(anyString())).thenAnswer(invocation -> {
+                    if (behaviour.simulate()) {
+                        throw new RazorpayException("BAD_REQUEST_ERROR: injected failure");
+                    }
+                    return new Order(new JSONObject()
+                            .put("id", invocation.getArgument(0, String.class))
+                            .put("entity", "order")
+                            .put("status", "attempted"));
+                });
+                Field field = RazorpayClient.class.getField("orders");
+                field.setAccessible(true);
+                field.set(client, orders);
+            } catch (ReflectiveOperationException | RazorpayException e) {
+                throw new IllegalStateException("Could not install the Razorpay stand-in", e);
+            }
+        }
+        return bean;
+    }
+}
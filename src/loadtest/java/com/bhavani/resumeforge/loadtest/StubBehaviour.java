@@ -0,0 +1,31 @@
+package com.bhavani.resumeforge.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latency and failure injection for one vendor stand-in:
+ * {@code -Dstub.<vendor>.latency-ms}, {@code .jitter-ms} and {@code .error-rate} (0..1).
+ */
+public record StubBehaviour(String vendor, long latencyMs, long jitterMs, double errorRate) {
+
+    public static StubBehaviour fromSystemProperties(String vendor, long defaultLatencyMs) {
+        return new StubBehaviour(
+                vendor,
+                Long.getLong("stub." + vendor + ".latency-ms", defaultLatencyMs),
+                Long.getLong("stub." + vendor + ".jitter-ms", defaultLatencyMs / 4),
+                LoadTestConfig.doubleProperty("stub." + vendor + ".error-rate", 0.0)
+        );
+    }
+
+    /**
+     * Sleeps for the configured latency and returns true when this call should fail.
+     */
+    public boolean simulate() throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = latencyMs + (jitterMs > 0 ? random.nextLong(jitterMs + 1) : 0);
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+        return random.nextDouble() < errorRate;
+    }
+}
@@ -0,0 +1,74 @@
+package com.bhavani.resumeforge.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process HTTP stand-ins for Brevo ({@code /v3/smtp/email}) and Cloudinary
+ * ({@code /v1_1/<cloud>/image/upload}), answering like the real APIs after the injected latency.
+ */
+public final class VendorStubs implements AutoCloseable {
+
+    private final HttpServer server;
+
+    private VendorStubs(HttpServer server) {
+        this.server = server;
+    }
+
+    public static VendorStubs start(StubBehaviour brevo, StubBehaviour cloudinary) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+        // one virtual thread per exchange so injected latency never queues requests
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+
+        server.createContext("/v3/smtp/email", exchange -> respond(exchange, brevo, 201,
+                "{\"messageId\":\"<" + UUID.randomUUID() + "@smtp-relay.loadtest>\"}"));
+
+        server.createContext("/v1_1/", exchange -> {
+            String publicId = "loadtest/" + UUID.randomUUID();
+            respond(exchange, cloudinary, 200, "{\"public_id\":\"" + publicId + "\","
+                    + "\"secure_url\":\"https://res.cloudinary.loadtest/image/upload/" + publicId + ".jpg\","
+                    + "\"resource_type\":\"image\",\"format\":\"jpg\"}");
+        });
+
+        server.start();
+        return new VendorStubs(server);
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private static void respond(HttpExchange exchange, StubBehaviour behaviour, int status, String body) throws IOException {
+        try (InputStream request = exchange.getRequestBody()) {
+            // read the whole upload like the vendor would
+            request.transferTo(OutputStream.nullOutputStream());
+            boolean fail;
+            try {
+                fail = behaviour.simulate();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail = true;
+            }
+            byte[] payload = (fail ? "{\"error\":{\"message\":\"injected failure\"}}" : body)
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(fail ? 503 : status, payload.length);
+            exchange.getResponseBody().write(payload);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,213 @@
+package com.bhavani.resumeforge.loadtest;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import org.bson.Document;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One simulated user: signs up, verifies the email, logs in and creates a resume, then loops
+ * over the editor flow (list, open, save, patch, templates) with occasional image uploads and
+ * premium purchases until the deadline.
+ */
+final class VirtualUser implements Runnable {
+
+    private static final String PASSWORD = "LoadTest#2024";
+
+    private final ApiClient api;
+
+    private final MongoCollection<Document> users;
+
+    private final LoadTestConfig config;
+
+    private final long deadlineNanos;
+
+    private final String email = "lt-" + UUID.randomUUID() + "@loadtest.resumeforge.dev";
+
+    private String token;
+
+    private String resumeId;
+
+    private String eTag;
+
+    private byte[] thumbnail;
+
+    VirtualUser(ApiClient api, MongoCollection<Document> users, LoadTestConfig config, long deadlineNanos) {
+        this.api = api;
+        this.users = users;
+        this.config = config;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (!signUp()) {
+                return;
+            }
+            thumbnail = thumbnailImage();
+            while (System.nanoTime() < deadlineNanos) {
+                iteration();
+                if (config.thinkTimeMs() > 0) {
+                    Thread.sleep(config.thinkTimeMs());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Virtual user " + email + " stopped: " + e);
+        }
+    }
+
+    private boolean signUp() {
+        //Step 1: register
+        HttpResponse<byte[]> registered = api.send("register", api.request("/api/auth/register", null)
+                .header("Content-Type", "application/json")
+                .POST(api.json(Map.of("name", "Load Test", "email", email, "password", PASSWORD)))
+                .build());
+        if (!ApiClient.ok(registered)) {
+            return false;
+        }
+
+        //Step 2: verify the email with the token the app stored
+        Document user = users.find(Filters.eq("email", email)).first();
+        if (user == null || user.getString("verificationToken") == null) {
+            return false;
+        }
+        api.send("verify-email", api.request("/api/auth/verify-email?token=" + user.getString("verificationToken"), null)
+                .GET().build());
+
+        //Step 3: login
+        HttpResponse<byte[]> login = api.send("login", api.request("/api/auth/login", null)
+                .header("Content-Type", "application/json")
+                .POST(api.json(Map.of("email", email, "password", PASSWORD)))
+                .build());
+        if (!ApiClient.ok(login)) {
+            return false;
+        }
+        token = (String) api.body(login).get("token");
+
+        //Step 4: first resume
+        HttpResponse<byte[]> created = api.send("create-resume", api.request("/api/resumes", token)
+                .header("Content-Type", "application/json")
+                .POST(api.json(Map.of("title", "Load test resume")))
+                .build());
+        if (!ApiClient.ok(created)) {
+            return false;
+        }
+        resumeId = (String) api.body(created).get("_id");
+        return true;
+    }
+
+    private void iteration() throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        api.send("list-resumes", api.request("/api/resumes/summary", token).GET().build());
+
+        HttpResponse<byte[]> opened = api.send("get-resume", api.request("/api/resumes/" + resumeId, token).GET().build());
+        if (ApiClient.ok(opened)) {
+            eTag = opened.headers().firstValue("ETag").orElse(null);
+            Map<String, Object> resume = api.body(opened);
+            resume.put("title", "Load test resume " + random.nextInt(1000));
+            HttpRequest.Builder save = api.request("/api/resumes/" + resumeId, token)
+                    .header("Content-Type", "application/json")
+                    .PUT(api.json(resume));
+            if (eTag != null) {
+                save.header("If-Match", eTag);
+            }
+            HttpResponse<byte[]> saved = api.send("update-resume", save.build());
+            if (saved != null) {
+                eTag = saved.headers().firstValue("ETag").orElse(null);
+            }
+        }
+
+        api.send("patch-resume", api.request("/api/resumes/" + resumeId, token)
+                .header("Content-Type", "application/json")
+                .method("PATCH", api.json(List.of(Map.of("op", "replace", "path", "profileInfo.summary",
+                        "value", "Engineer focused on performance, iteration " + random.nextInt(1000)))))
+                .build());
+
+        api.send("templates", api.request("/api/templates", token).GET().build());
+
+        if (random.nextDouble() < config.uploadRatio()) {
+            upload();
+        }
+        if (random.nextDouble() < config.paymentRatio()) {
+            purchase();
+        }
+    }
+
+    private void upload() {
+        String boundary = "----loadtest" + UUID.randomUUID().toString().replace("-", "");
+        ByteArrayOutputStream body = new ByteArrayOutputStream(thumbnail.length + 512);
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"thumbnail\"; filename=\"thumbnail.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(thumbnail);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        api.send("upload-images", api.request("/api/resumes/" + resumeId + "/upload-images", token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build());
+    }
+
+    private void purchase() throws Exception {
+        HttpResponse<byte[]> order = api.send("create-order", api.request("/api/payment/create-order", token)
+                .header("Content-Type", "application/json")
+                .POST(api.json(Map.of("planType", "premium")))
+                .build());
+        if (!ApiClient.ok(order)) {
+            return;
+        }
+        String orderId = (String) api.body(order).get("orderId");
+        String paymentId = "pay_" + UUID.randomUUID().toString().replace("-", "").substring(0, 14);
+
+        // checkout would hand the browser this signature; the app checks it with the same secret
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(LoadTestConfig.RAZORPAY_KEY_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String signature = HexFormat.of().formatHex(mac.doFinal((orderId + "|" + paymentId).getBytes(StandardCharsets.UTF_8)));
+
+        api.send("verify-payment", api.request("/api/payment/verify", token)
+                .header("Content-Type", "application/json")
+                .POST(api.json(Map.of(
+                        "razorpay_Order_Id", orderId,
+                        "razorpay_Payment_Id", paymentId,
+                        "razorpay_signature", signature)))
+                .build());
+    }
+
+    // a per-user image, so the first upload misses the dedup index and repeats hit it
+    private static byte[] thumbnailImage() throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        BufferedImage image = new BufferedImage(800, 1131, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            for (int i = 0; i < 40; i++) {
+                graphics.setColor(new Color(random.nextInt(0xffffff)));
+                graphics.fillRect(random.nextInt(800), random.nextInt(1131), 40 + random.nextInt(300), 10 + random.nextInt(60));
+            }
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -6,6 +6,9 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Configuration
 public class CloudinaryConfig {
 
@@ -18,12 +21,28 @@ public class CloudinaryConfig {
     @Value("${cloudinary.api-secret}")
     private String apiSecret;
 
+    @Value("${cloudinary.timeout-seconds:30}")
+    private int uploadTimeoutSeconds;
+
+    @Value("${cloudinary.connect-timeout-seconds:5}")
+    private int connectTimeoutSeconds;
+
+    // empty means the public Cloudinary api; the load-test harness points it at a local stub
+    @Value("${cloudinary.upload-prefix:}")
+    private String uploadPrefix;
+
     @Bean
     public Cloudinary cloudinary(){
-      return new Cloudinary(ObjectUtils.asMap(
+      Map<String, Object> config = new HashMap<>(ObjectUtils.asMap(
                 "cloud_name", cloudName,
                 "api_key" , apiKey,
-                "api_secret", apiSecret
+                "api_secret", apiSecret,
+                "timeout", uploadTimeoutSeconds,
+                "connection_timeout", connectTimeoutSeconds
         ));
+      if (!uploadPrefix.isBlank()) {
+          config.put("upload_prefix", uploadPrefix);
+      }
+      return new Cloudinary(config);
     }
 }
@@ -0,0 +1,56 @@
+package com.bhavani.resumeforge.config;
+
+import com.bhavani.resumeforge.document.EmailOutboxMessage;
+import com.bhavani.resumeforge.document.ImageAsset;
+import com.bhavani.resumeforge.document.Payment;
+import com.bhavani.resumeforge.document.PaymentWebhookEvent;
+import com.bhavani.resumeforge.document.Resume;
+import com.bhavani.resumeforge.document.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the index plan declared on the documents at startup instead of relying on
+ * auto-index-creation, which is only switched on for the prod profile.
+ * Creating an index that already exists is a no-op.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexInitializer {
+
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(
+            User.class,
+            Resume.class,
+            Payment.class,
+            PaymentWebhookEvent.class,
+            EmailOutboxMessage.class,
+            ImageAsset.class
+    );
+
+    private final MongoTemplate mongoTemplate;
+
+    private final MongoMappingContext mongoMappingContext;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoMappingContext);
+        for (Class<?> type : INDEXED_DOCUMENTS) {
+            IndexOperations indexOps = mongoTemplate.indexOps(type);
+            resolver.resolveIndexFor(type).forEach(index -> {
+                indexOps.createIndex(index);
+                log.info("Ensured index {} on {}", index.getIndexOptions().get("name"), type.getSimpleName());
+            });
+        }
+    }
+}
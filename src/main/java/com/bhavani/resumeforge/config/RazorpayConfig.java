@@ -0,0 +1,59 @@
+package com.bhavani.resumeforge.config;
+
+import com.razorpay.RazorpayClient;
+import com.razorpay.RazorpayException;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+
+@Configuration
+public class RazorpayConfig {
+
+    @Value("${razorpay.key.id}")
+    private String razorpayKeyId;
+
+    @Value("${razorpay.key.secret}")
+    private String razorpayKeySecret;
+
+    @Value("${razorpay.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${razorpay.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    // one client for the app; the SDK keeps its own keep-alive connection pool
+    @Bean
+    public RazorpayClient razorpayClient() throws RazorpayException {
+        RazorpayClient client = new RazorpayClient(razorpayKeyId, razorpayKeySecret);
+        applyDeadlines();
+        return client;
+    }
+
+    /**
+     * The SDK builds one static OkHttp client with 60s read/write timeouts and exposes no
+     * setting for them, so we rebuild it from its own builder (keeping its TLS setup and
+     * interceptors) with the same deadlines as the other outbound clients.
+     */
+    private void applyDeadlines() {
+        try {
+            Field clientField = Class.forName("com.razorpay.ApiUtils").getDeclaredField("client");
+            clientField.setAccessible(true);
+            if (!(clientField.get(null) instanceof OkHttpClient sdkClient)) {
+                throw new IllegalStateException("Razorpay SDK did not create its HTTP client");
+            }
+            clientField.set(null, sdkClient.newBuilder()
+                    .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                    .readTimeout(Duration.ofMillis(readTimeoutMs))
+                    .writeTimeout(Duration.ofMillis(readTimeoutMs))
+                    .callTimeout(Duration.ofMillis(connectTimeoutMs + readTimeoutMs))
+                    .build());
+        } catch (ReflectiveOperationException e) {
+            // fail the startup rather than run payments without a deadline after an SDK upgrade
+            throw new IllegalStateException("Could not set Razorpay client timeouts", e);
+        }
+    }
+}
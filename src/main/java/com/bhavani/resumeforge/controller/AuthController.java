@@ -2,6 +2,7 @@ package com.bhavani.resumeforge.controller;
 
 import com.bhavani.resumeforge.document.User;
 import com.bhavani.resumeforge.dto.AuthResponse;
+import com.bhavani.resumeforge.dto.ChangePasswordRequest;
 import com.bhavani.resumeforge.dto.LoginRequest;
 import com.bhavani.resumeforge.dto.RegisterRequest;
 import com.bhavani.resumeforge.service.AuthService;
@@ -91,6 +92,23 @@ public class AuthController {
         return ResponseEntity.ok(currentProfile);
     }
 
+    @PostMapping(CHANGE_PASSWORD)
+    public ResponseEntity<?> changePassword(@Valid @RequestBody ChangePasswordRequest request,
+                                            Authentication authentication) {
+        //Step 1: call the service method, older tokens stop working
+        AuthResponse response = authService.changePassword(request, authentication.getPrincipal());
+        //Step 2: return the new token
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(LOGOUT_ALL)
+    public ResponseEntity<?> logoutEverywhere(Authentication authentication) {
+        //Step 1: revoke every token issued so far, including this one
+        authService.logoutEverywhere(authentication.getPrincipal());
+        //Step 2: return response
+        return ResponseEntity.ok(Map.of("message", "Signed out of all sessions"));
+    }
+
     @Value("${test.marker:NOT_FOUND}")
     private String marker;
 
@@ -1,8 +1,15 @@
 package com.bhavani.resumeforge.controller;
 
+import com.bhavani.resumeforge.document.Resume;
+import com.bhavani.resumeforge.dto.SendResumeRequest;
 import com.bhavani.resumeforge.service.EmailService;
+import com.bhavani.resumeforge.service.ResumePdfService;
+import com.bhavani.resumeforge.service.ResumeService;
+import jakarta.validation.Valid;
 import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.multipart.MultipartFile;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,7 +19,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -24,6 +33,8 @@ import java.util.Objects;
 public class EmailController {
 
     private final EmailService emailService;
+    private final ResumeService resumeService;
+    private final ResumePdfService resumePdfService;
 
     @PostMapping(value = "/send-resume", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<Map<String, Object>> sendResumeByEmail(@RequestPart("recipientEmail") String recipientEmail,
@@ -39,9 +50,7 @@ public class EmailController {
             return ResponseEntity.badRequest().body(response);
         }
         //Step 2: Get the file data
-        byte[] pdfBytes = pdfFile.getBytes();
-
-        log.info("PDF size in bytes: {}", pdfBytes.length);
+        log.info("PDF size in bytes: {}", pdfFile.getSize());
 
         String originalFilename = pdfFile.getOriginalFilename();
         String filename = Objects.nonNull(originalFilename) ? originalFilename : "resume.pdf";
@@ -49,10 +58,33 @@ public class EmailController {
         String emailSubject = Objects.nonNull(subject) ? subject : "Resume Application";
         String emailBody = Objects.nonNull(message) ? message : "Please find my resume attached.\n\n Best regards";
         //Step 4: Call the service method
-        emailService.sentEmailWithAttachment(recipientEmail, emailSubject, emailBody, pdfBytes, filename);
+        try (InputStream pdfStream = pdfFile.getInputStream()) {
+            emailService.sentEmailWithAttachment(recipientEmail, emailSubject, emailBody, pdfStream, filename);
+        }
         //Step 5: return the response
         response.put("success", true);
         response.put("message", "Resume sent successfully to " + recipientEmail);
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping(value = "/send-resume/{resumeId}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> sendRenderedResumeByEmail(@PathVariable String resumeId,
+                                                                         @Valid @RequestBody SendResumeRequest request,
+                                                                         Authentication authentication) throws IOException {
+        //Step 1: load the resume and render it on the server, no client upload needed
+        Resume resume = resumeService.getResumeById(resumeId, authentication.getPrincipal());
+        byte[] pdf = resumePdfService.renderToBytes(resume);
+        log.info("Rendered PDF size in bytes: {}", pdf.length);
+        //Step 2: Prepare the email content
+        String emailSubject = Objects.nonNull(request.getSubject()) ? request.getSubject() : "Resume Application";
+        String emailBody = Objects.nonNull(request.getMessage()) ? request.getMessage() : "Please find my resume attached.\n\n Best regards";
+        //Step 3: Call the service method
+        emailService.sentEmailWithAttachment(request.getRecipientEmail(), emailSubject, emailBody,
+                new ByteArrayInputStream(pdf), ResumePdfService.fileName(resume));
+        //Step 4: return the response
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Resume sent successfully to " + request.getRecipientEmail());
+        return ResponseEntity.ok(response);
+    }
 }
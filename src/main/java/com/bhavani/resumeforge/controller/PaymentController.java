@@ -1,8 +1,11 @@
 package com.bhavani.resumeforge.controller;
 
 import com.bhavani.resumeforge.document.Payment;
+import com.bhavani.resumeforge.dto.CursorPage;
+import com.bhavani.resumeforge.dto.PaymentSummary;
 import com.bhavani.resumeforge.repository.ResumeRepository;
 import com.bhavani.resumeforge.service.PaymentService;
+import com.bhavani.resumeforge.service.PaymentWebhookService;
 import com.razorpay.RazorpayException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +26,7 @@ import static com.bhavani.resumeforge.util.AppConstants.PREMIUM;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final PaymentWebhookService paymentWebhookService;
     private final ResumeRepository resumeRepository;
 
     @PostMapping("/create-order")
@@ -68,6 +72,17 @@ public class PaymentController {
         }
     }
 
+    @PostMapping("/webhook")
+    public ResponseEntity<?> handleWebhook(@RequestBody byte[] body,
+                                           @RequestHeader(value = "X-Razorpay-Signature", required = false) String signature,
+                                           @RequestHeader(value = "X-Razorpay-Event-Id", required = false) String eventId) {
+        //Step 1: verify and record the event, it is applied in the background
+        paymentWebhookService.accept(body, signature, eventId);
+
+        //Step 2: acknowledge so Razorpay stops redelivering
+        return ResponseEntity.ok(Map.of("status", "received"));
+    }
+
     @GetMapping("/history")
     public ResponseEntity<?> getPaymentHistory(Authentication authentication){
         //Step 1: Call the service method
@@ -77,6 +92,18 @@ public class PaymentController {
         return ResponseEntity.ok(payments);
     }
 
+    @GetMapping("/history/page")
+    public ResponseEntity<?> getPaymentHistoryPage(@RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer limit,
+                                                   @RequestParam(required = false) String status,
+                                                   Authentication authentication) {
+        //Step 1: Call the service method
+        CursorPage<PaymentSummary> page = paymentService.getPaymentHistory(authentication.getPrincipal(), cursor, limit, status);
+
+        //Step 2: return the response
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/order/{orderId}")
     public ResponseEntity<?> getOrderDetails(@PathVariable String orderId){
         //Step 1: Call the service method
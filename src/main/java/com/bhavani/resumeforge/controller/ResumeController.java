@@ -2,17 +2,28 @@ package com.bhavani.resumeforge.controller;
 
 import com.bhavani.resumeforge.document.Resume;
 import com.bhavani.resumeforge.dto.CreateResumeRequest;
+import com.bhavani.resumeforge.dto.CursorPage;
+import com.bhavani.resumeforge.dto.ResumePatchOperation;
+import com.bhavani.resumeforge.dto.ResumeSearchHit;
+import com.bhavani.resumeforge.dto.ResumeSummary;
 import com.bhavani.resumeforge.service.FileUploadService;
+import com.bhavani.resumeforge.service.ResumePdfService;
+import com.bhavani.resumeforge.service.ResumeSearchService;
 import com.bhavani.resumeforge.service.ResumeService;
+import com.bhavani.resumeforge.util.ETags;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
 import java.util.List;
@@ -28,6 +39,8 @@ public class ResumeController {
 
     private final ResumeService resumeService;
     private final FileUploadService fileUploadService;
+    private final ResumePdfService resumePdfService;
+    private final ResumeSearchService resumeSearchService;
 
     @PostMapping()
     public ResponseEntity<?> createResume(@Valid @RequestBody CreateResumeRequest request,
@@ -51,23 +64,88 @@ public class ResumeController {
         return ResponseEntity.ok(resumes);
     }
 
+    @GetMapping(SUMMARY)
+    public ResponseEntity<?> getResumeSummaries(@RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer limit,
+                                                Authentication authentication) {
+        //Step 1: call the service method
+        CursorPage<ResumeSummary> page = resumeService.getResumeSummaries(authentication.getPrincipal(), cursor, limit);
+
+        //Step 2: return the response
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(SEARCH)
+    public ResponseEntity<?> searchResumes(@RequestParam("q") String query,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer limit,
+                                           Authentication authentication) {
+        //Step 1: call the service method
+        CursorPage<ResumeSearchHit> page = resumeSearchService.search(query, cursor, limit, authentication.getPrincipal());
+
+        //Step 2: return the response
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping(ID)
     public ResponseEntity<?> getResumeById(@PathVariable String id,
+                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
                                            Authentication authentication) {
-        //Step 1: Call the service method
+        //Step 1: answer revalidation from the revision alone
+        if (ifNoneMatch != null) {
+            long revision = resumeService.getResumeRevision(id, authentication.getPrincipal());
+            if (ETags.matchesAny(ifNoneMatch, eTag(revision))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag(revision)).build();
+            }
+        }
+        //Step 2: Call the service method
         Resume existingResume = resumeService.getResumeById(id, authentication.getPrincipal());
-        //Step 2: return the response
-        return ResponseEntity.ok(existingResume);
+        //Step 3: return the response
+        return ResponseEntity.ok().eTag(eTag(existingResume.getRevision())).body(existingResume);
     }
 
     @PutMapping(ID)
     public ResponseEntity<?> updateResume(@PathVariable String id,
                                           @RequestBody Resume updatedData,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                           Authentication authentication) {
         //Step 1: Call the service method
-        Resume updatedResume = resumeService.updateResume(id, updatedData, authentication.getPrincipal());
+        Resume updatedResume = resumeService.updateResume(id, updatedData, expectedRevision(ifMatch), authentication.getPrincipal());
         //Step 2: return the response
-        return ResponseEntity.ok(updatedResume);
+        return ResponseEntity.ok().eTag(eTag(updatedResume.getRevision())).body(updatedResume);
+    }
+
+    @PatchMapping(ID)
+    public ResponseEntity<?> patchResume(@PathVariable String id,
+                                         @RequestBody List<@Valid ResumePatchOperation> operations,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                         Authentication authentication) {
+        //Step 1: Call the service method
+        Resume patched = resumeService.patchResume(id, operations, expectedRevision(ifMatch), authentication.getPrincipal());
+        //Step 2: return the response
+        return ResponseEntity.ok()
+                .eTag(eTag(patched.getRevision()))
+                .body(Map.of("message", "Resume updated successfully",
+                        "revision", patched.getRevision(),
+                        "updatedAt", patched.getUpdatedAt()));
+    }
+
+    @GetMapping(PDF)
+    public ResponseEntity<byte[]> downloadResumePdf(@PathVariable String id,
+                                                    Authentication authentication) {
+        //Step 1: load the resume, a missing one is a 4xx
+        Resume resume = resumeService.getResumeById(id, authentication.getPrincipal());
+        //Step 2: render the pdf; it is buffered whole anyway, so send it with its length
+        byte[] pdf = resumePdfService.renderToBytes(resume);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .contentLength(pdf.length)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(ResumePdfService.fileName(resume))
+                        .build()
+                        .toString())
+                .eTag(eTag(resume.getRevision()))
+                .body(pdf);
     }
 
     @PutMapping(UPLOAD_IMAGES)
@@ -89,4 +167,27 @@ public class ResumeController {
         //Step 2: return response
         return ResponseEntity.ok(Map.of("message", "Resume deleted Successfully"));
     }
+
+    private static String eTag(Long revision) {
+        return "\"" + (revision != null ? revision : 0L) + "\"";
+    }
+
+    /**
+     * Revision the client last saw, from If-Match; null when absent or "*" (no precondition on the revision).
+     */
+    private static Long expectedRevision(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        try {
+            // strong comparison only: weak or malformed tags can never match
+            if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+                throw new NumberFormatException(tag);
+            }
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not match the current resume");
+        }
+    }
 }
\ No newline at end of file
@@ -1,16 +1,21 @@
 package com.bhavani.resumeforge.controller;
 
+import com.bhavani.resumeforge.service.TemplateCatalog;
 import com.bhavani.resumeforge.service.TemplatesService;
+import com.bhavani.resumeforge.util.ETags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Map;
-
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/templates")
@@ -20,11 +25,26 @@ public class TemplatesController {
     private final TemplatesService templatesService;
 
     @GetMapping
-    public ResponseEntity<?> getTemplates(Authentication authentication) {
+    public ResponseEntity<byte[]> getTemplates(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                               Authentication authentication) {
         //Step 1: call the service method
-        Map<String, Object> response = templatesService.getTemplates(authentication.getPrincipal());
+        TemplateCatalog.PlanResponse response = templatesService.getTemplates(authentication);
 
-        //step 2: return the response
-        return ResponseEntity.ok(response);
+        //Step 2: return the response, or 304 when the client already has it
+        // no-cache: the browser keeps the copy but revalidates it, so a plan upgrade shows up on the next open
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (ETags.matchesAny(ifNoneMatch, response.eTag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(response.eTag())
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.AUTHORIZATION)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(response.eTag())
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .body(response.body());
     }
 }
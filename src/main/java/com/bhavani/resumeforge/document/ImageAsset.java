@@ -0,0 +1,46 @@
+package com.bhavani.resumeforge.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Document(collection = "image_assets")
+public class ImageAsset {
+
+    @Id
+    private String id;
+
+    // sha-256 of the uploaded bytes plus the size variant they were optimized to
+    @Indexed(unique = true)
+    private String contentKey;
+
+    @Indexed
+    private String secureUrl;
+
+    private String publicId;
+
+    private long bytes;
+
+    // resumes and profiles pointing at this url; zero means it can be cleaned up
+    private long refCount;
+
+    private LocalDateTime lastUsedAt;
+
+    @CreatedDate
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,34 @@
+package com.bhavani.resumeforge.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position of a long-running scan, keyed by job name, so an interrupted pass resumes
+ * after the last document it finished instead of starting over. The same document is the
+ * job's lease: only the instance named in {@code owner} runs a pass until {@code lockedUntil}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Document(collection = "job_checkpoints")
+public class JobCheckpoint {
+
+    @Id
+    private String jobName;
+
+    private LocalDateTime lastCreatedAt;
+    private String lastId;
+
+    private String owner;
+    private LocalDateTime lockedUntil;
+
+    private LocalDateTime updatedAt;
+}
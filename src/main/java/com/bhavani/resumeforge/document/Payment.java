@@ -8,6 +8,8 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -17,6 +19,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Document(collection = "payments")
+@CompoundIndex(name = "user_created_idx", def = "{'userID': 1, 'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "user_status_created_idx", def = "{'userID': 1, 'status': 1, 'createdAt': -1, '_id': -1}")
+// reconciliation keyset scan: status equality, then (createdAt, _id) in order
+@CompoundIndex(name = "status_created_id_idx", def = "{'status': 1, 'createdAt': 1, '_id': 1}")
 public class Payment {
 
     @Id
@@ -24,7 +30,9 @@ public class Payment {
     private String id;
 
     private String userID;
+    @Indexed(unique = true, sparse = true)
     private String razorpayOrderId;
+    @Indexed(sparse = true)
     private String razorpayPaymentId;
     private String razorPaySignature;
 
@@ -37,6 +45,11 @@ public class Payment {
 
     private String receipt;
 
+    // "<userId>:<plan>" while the order is open, unset once it is paid or abandoned;
+    // the unique index allows one open order per user and plan
+    @Indexed(unique = true, sparse = true)
+    private String openOrderKey;
+
     @CreatedDate
     private LocalDateTime createdAt;
     @LastModifiedDate
@@ -0,0 +1,51 @@
+package com.bhavani.resumeforge.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Document(collection = "payment_webhook_events")
+@CompoundIndex(name = "status_received_idx", def = "{'status': 1, 'receivedAt': 1}")
+@CompoundIndex(name = "status_locked_idx", def = "{'status': 1, 'lockedUntil': 1}")
+public class PaymentWebhookEvent {
+
+    public static final String PENDING = "pending";
+    public static final String APPLYING = "applying";
+    public static final String APPLIED = "applied";
+
+    @Id
+    private String id;
+
+    // Razorpay redelivers until it gets a 2xx; a redelivery is rejected by this index
+    @Indexed(unique = true)
+    private String eventId;
+
+    private String eventType;
+    private String razorpayOrderId;
+    private String razorpayPaymentId;
+
+    @Builder.Default
+    private String status = PENDING;
+
+    private LocalDateTime receivedAt;
+    private LocalDateTime lockedUntil;
+
+    // set by the claim that holds the lease, so the batch is read back and closed by it alone
+    @Indexed(name = "lease_token_idx", sparse = true)
+    private String leaseToken;
+
+    // applied events only matter for spotting redeliveries, which Razorpay stops after a day
+    @Indexed(name = "applied_ttl_idx", expireAfter = "30d")
+    private LocalDateTime appliedAt;
+}
@@ -1,5 +1,6 @@
 package com.bhavani.resumeforge.document;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -8,6 +9,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -18,6 +20,10 @@ import java.util.List;
 @NoArgsConstructor
 @Builder
 @Document(collection = "resumes")
+// dashboard listing and keyset pagination: userId equality, newest first
+@CompoundIndex(name = "user_updated_idx", def = "{'userId': 1, 'updatedAt': -1, '_id': -1}")
+// resume search: userId equality, then a prefix range on the multikey keywords
+@CompoundIndex(name = "user_keywords_idx", def = "{'userId': 1, 'searchKeywords': 1}")
 public class Resume {
 
     @Id
@@ -50,6 +56,13 @@ public class Resume {
 
     private List<String> interests;
 
+    // derived from the searchable fields on every write, never part of the API
+    @JsonIgnore
+    private List<String> searchKeywords;
+
+    // incremented by every write; exposed as the resume's ETag
+    private Long revision;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
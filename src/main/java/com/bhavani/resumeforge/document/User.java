@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -22,13 +23,18 @@ public class User {
     private String id;
 
     private String name;
+    @Indexed(unique = true)
     private String email;
     private String password;
     private String profileImageUrl;
     private String subscriptionPlan = "basic";
     private boolean emailVerified = false;
+    // removed once verified, so only unverified users are in the index
+    @Indexed(unique = true, sparse = true)
     private String verificationToken;
     private LocalDateTime verificationExpires;
+    // bumped to revoke every token issued before the change
+    private long tokenVersion;
 
     @CreatedDate
     private LocalDateTime createdAt;
@@ -0,0 +1,31 @@
+package com.bhavani.resumeforge.dto;
+
+import com.bhavani.resumeforge.document.Payment;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the payment history; read through a field projection of {@link Payment}, so the
+ * signature and other internal fields never leave the database.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentSummary {
+
+    @JsonProperty("_id")
+    private String id;
+    private String razorpayOrderId;
+    private Integer amount;
+    private String currency;
+    private String planType;
+    private String status;
+    private String receipt;
+    private LocalDateTime createdAt;
+}
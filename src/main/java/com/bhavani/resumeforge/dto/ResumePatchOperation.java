@@ -0,0 +1,31 @@
+package com.bhavani.resumeforge.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One JSON-Patch style change to a resume, e.g.
+ * {@code {"op": "replace", "path": "workExperiences[2].description", "value": "..."}}.
+ * <ul>
+ *     <li>{@code replace} sets a section, a nested field, a list item or a field of a list item</li>
+ *     <li>{@code add} appends the value to a list section</li>
+ *     <li>{@code remove} removes matching items from a list section</li>
+ * </ul>
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ResumePatchOperation {
+
+    @NotBlank(message = "op is required")
+    private String op;
+
+    @NotBlank(message = "path is required")
+    private String path;
+
+    private Object value;
+}
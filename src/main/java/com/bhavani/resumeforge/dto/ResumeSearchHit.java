@@ -0,0 +1,28 @@
+package com.bhavani.resumeforge.dto;
+
+import com.bhavani.resumeforge.document.Resume;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A resume matching a search, with the same card fields as {@link ResumeSummary} and its relevance score.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResumeSearchHit {
+
+    @JsonProperty("_id")
+    private String id;
+    private String title;
+    private String thumbnailLink;
+    private Resume.Template template;
+    private LocalDateTime updatedAt;
+    private int score;
+}
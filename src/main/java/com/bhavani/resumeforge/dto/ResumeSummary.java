@@ -0,0 +1,27 @@
+package com.bhavani.resumeforge.dto;
+
+import com.bhavani.resumeforge.document.Resume;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Card shown on the resume dashboard; read through a field projection of {@link Resume}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResumeSummary {
+
+    @JsonProperty("_id")
+    private String id;
+    private String title;
+    private String thumbnailLink;
+    private Resume.Template template;
+    private LocalDateTime updatedAt;
+}
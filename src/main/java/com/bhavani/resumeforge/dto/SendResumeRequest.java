@@ -0,0 +1,23 @@
+package com.bhavani.resumeforge.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SendResumeRequest {
+
+    @NotBlank(message = "Recipient email is required")
+    @Email(message = "Recipient email should be valid")
+    private String recipientEmail;
+
+    private String subject;
+
+    private String message;
+}
@@ -42,5 +42,15 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
 
+    @ExceptionHandler(OutboundUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleOutboundUnavailableException(OutboundUnavailableException ex) {
+        log.info("Inside GlobalExceptionHandler - handleOutboundUnavailableException()");
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Service temporarily unavailable");
+        response.put("errors", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
 
 }
@@ -0,0 +1,8 @@
+package com.bhavani.resumeforge.exception;
+
+public class OutboundUnavailableException extends RuntimeException{
+
+    public OutboundUnavailableException(String message){
+        super(message);
+    }
+}
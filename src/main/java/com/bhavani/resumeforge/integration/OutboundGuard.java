@@ -0,0 +1,187 @@
+package com.bhavani.resumeforge.integration;
+
+import com.bhavani.resumeforge.exception.OutboundUnavailableException;
+import com.razorpay.RazorpayException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps every call to a third-party dependency (brevo, cloudinary, razorpay) with a
+ * bulkhead, a circuit breaker and per-dependency latency metrics, so one vendor that
+ * hangs cannot hold every request thread.
+ * <p>
+ * Limits are read from {@code outbound.<dependency>.*} with {@code outbound.*} as defaults.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboundGuard {
+
+    private static final String RAZORPAY_BAD_REQUEST = "BAD_REQUEST_ERROR:";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Environment environment;
+
+    private final Map<String, Dependency> dependencies = new ConcurrentHashMap<>();
+
+    @FunctionalInterface
+    public interface OutboundCall<T, E extends Exception> {
+        T execute() throws E;
+    }
+
+    public <T, E extends Exception> T call(String dependency, OutboundCall<T, E> call) throws E {
+        Dependency state = dependencies.computeIfAbsent(dependency, this::newDependency);
+
+        //Step 1: fail fast while the breaker is open
+        if (!state.allowRequest()) {
+            reject(dependency, "circuit_open");
+        }
+
+        //Step 2: bulkhead on concurrent calls
+        if (!state.tryAcquire()) {
+            state.releaseTrial();
+            reject(dependency, "bulkhead_full");
+        }
+
+        //Step 3: run and record the outcome
+        long startNanos = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = call.execute();
+            outcome = "success";
+            return result;
+        } catch (Throwable e) {
+            if (isClientError(e)) {
+                outcome = "client_error";
+            }
+            throw e;
+        } finally {
+            state.bulkhead.release();
+            switch (outcome) {
+                case "success" -> state.onSuccess();
+                // the vendor answered, it just rejected this request; that says nothing about its health
+                case "client_error" -> state.onAnswered();
+                default -> state.onFailure(dependency);
+            }
+            Timer.builder("resumeforge.outbound.calls")
+                    .tag("dependency", dependency)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * A 4xx from the vendor (validation, auth, not found) is a problem with this request, not
+     * with the dependency, so it must not count towards opening the breaker for every user.
+     * 5xx, timeouts and I/O errors do.
+     */
+    static boolean isClientError(Throwable error) {
+        if (error instanceof RestClientResponseException response) {
+            return response.getStatusCode().is4xxClientError();
+        }
+        // the Razorpay SDK only has RazorpayException; 4xx bodies (bad request, failed
+        // authentication) come through as "BAD_REQUEST_ERROR:<description>"
+        return error instanceof RazorpayException razorpay
+                && razorpay.getMessage() != null
+                && razorpay.getMessage().startsWith(RAZORPAY_BAD_REQUEST);
+    }
+
+    private void reject(String dependency, String reason) {
+        meterRegistry.counter("resumeforge.outbound.rejected", "dependency", dependency, "reason", reason).increment();
+        throw new OutboundUnavailableException(dependency + " is temporarily unavailable");
+    }
+
+    private Dependency newDependency(String dependency) {
+        return new Dependency(
+                property(dependency, "max-concurrent-calls", 20),
+                property(dependency, "bulkhead-wait-ms", 200),
+                property(dependency, "breaker.failure-threshold", 5),
+                property(dependency, "breaker.open-ms", 30000)
+        );
+    }
+
+    private int property(String dependency, String name, int defaultValue) {
+        Integer shared = environment.getProperty("outbound." + name, Integer.class, defaultValue);
+        return environment.getProperty("outbound." + dependency + "." + name, Integer.class, shared);
+    }
+
+    /**
+     * Bulkhead plus a consecutive-failure circuit breaker: after {@code failureThreshold}
+     * failures in a row the breaker opens for {@code openMs}, then lets a single trial call through.
+     */
+    private static final class Dependency {
+
+        private final Semaphore bulkhead;
+        private final long bulkheadWaitMs;
+        private final int failureThreshold;
+        private final long openMs;
+
+        private int consecutiveFailures;
+        private long openUntil;
+        private boolean trialInFlight;
+
+        private Dependency(int maxConcurrentCalls, long bulkheadWaitMs, int failureThreshold, long openMs) {
+            this.bulkhead = new Semaphore(maxConcurrentCalls);
+            this.bulkheadWaitMs = bulkheadWaitMs;
+            this.failureThreshold = failureThreshold;
+            this.openMs = openMs;
+        }
+
+        private synchronized boolean allowRequest() {
+            if (consecutiveFailures < failureThreshold) {
+                return true;
+            }
+            if (System.currentTimeMillis() < openUntil || trialInFlight) {
+                return false;
+            }
+            // half-open: one trial call decides whether to close again
+            trialInFlight = true;
+            return true;
+        }
+
+        private boolean tryAcquire() {
+            try {
+                return bulkhead.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        private synchronized void releaseTrial() {
+            trialInFlight = false;
+        }
+
+        private synchronized void onSuccess() {
+            consecutiveFailures = 0;
+            trialInFlight = false;
+        }
+
+        private synchronized void onAnswered() {
+            // leaves the failure streak alone, but a half-open trial that got an answer is over
+            trialInFlight = false;
+        }
+
+        private synchronized void onFailure(String dependency) {
+            consecutiveFailures++;
+            trialInFlight = false;
+            if (consecutiveFailures >= failureThreshold) {
+                openUntil = System.currentTimeMillis() + openMs;
+                log.warn("Circuit opened for {} after {} consecutive failures", dependency, consecutiveFailures);
+            }
+        }
+    }
+}
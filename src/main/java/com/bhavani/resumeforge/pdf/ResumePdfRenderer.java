@@ -0,0 +1,320 @@
+package com.bhavani.resumeforge.pdf;
+
+import com.bhavani.resumeforge.document.Resume;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.springframework.stereotype.Component;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Lays a {@link Resume} out on A4 pages according to a compiled {@link ResumeTemplateLayout}
+ * and writes the PDF to the given stream.
+ */
+@Component
+public class ResumePdfRenderer {
+
+    private static final Color TEXT = new Color(0x1f, 0x29, 0x37);
+    private static final Color MUTED = new Color(0x6b, 0x72, 0x80);
+
+    public void render(Resume resume, ResumeTemplateLayout layout, Color accent, OutputStream out) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            try (PageWriter writer = new PageWriter(document, layout, accent)) {
+                writeHeader(writer, resume);
+                for (ResumeTemplateLayout.Section section : layout.sections()) {
+                    writeSection(writer, section, resume);
+                }
+            }
+            document.save(out);
+        }
+    }
+
+    private void writeHeader(PageWriter writer, Resume resume) throws IOException {
+        Resume.ProfileInfo profile = resume.getProfileInfo();
+        Resume.ContactInfo contact = resume.getContactInfo();
+        String name = profile != null && notBlank(profile.getFullName()) ? profile.getFullName() : resume.getTitle();
+        String designation = profile != null ? profile.getDesignation() : null;
+        String contactLine = contact == null ? null : joinNonBlank("  |  ",
+                contact.getEmail(), contact.getPhone(), contact.getLocation(),
+                contact.getLinkedIn(), contact.getGithub(), contact.getWebsite());
+
+        writer.header(name, designation, contactLine);
+    }
+
+    private void writeSection(PageWriter writer, ResumeTemplateLayout.Section section, Resume resume) throws IOException {
+        switch (section) {
+            case SUMMARY -> {
+                Resume.ProfileInfo profile = resume.getProfileInfo();
+                if (profile != null && notBlank(profile.getSummary())) {
+                    writer.heading("Summary");
+                    writer.paragraph(profile.getSummary(), false, TEXT);
+                }
+            }
+            case EXPERIENCE -> {
+                if (hasItems(resume.getWorkExperiences())) {
+                    writer.heading("Experience");
+                    for (Resume.WorkExperience experience : present(resume.getWorkExperiences())) {
+                        writer.paragraph(joinNonBlank(" - ", experience.getRole(), experience.getCompany()), true, TEXT);
+                        writer.paragraph(joinNonBlank(" to ", experience.getStartDate(), experience.getEndDate()), false, MUTED);
+                        writer.paragraph(experience.getDescription(), false, TEXT);
+                        writer.gap();
+                    }
+                }
+            }
+            case EDUCATION -> {
+                if (hasItems(resume.getEducations())) {
+                    writer.heading("Education");
+                    for (Resume.Education education : present(resume.getEducations())) {
+                        writer.paragraph(joinNonBlank(" - ", education.getDegree(), education.getInstitution()), true, TEXT);
+                        writer.paragraph(joinNonBlank(" to ", education.getStartDate(), education.getEndDate()), false, MUTED);
+                        writer.gap();
+                    }
+                }
+            }
+            case SKILLS -> {
+                if (hasItems(resume.getSkills())) {
+                    writer.heading("Skills");
+                    writer.paragraph(resume.getSkills().stream()
+                            .filter(Objects::nonNull)
+                            .map(Resume.Skill::getName)
+                            .filter(ResumePdfRenderer::notBlank)
+                            .collect(Collectors.joining(", ")), false, TEXT);
+                }
+            }
+            case PROJECTS -> {
+                if (hasItems(resume.getProjects())) {
+                    writer.heading("Projects");
+                    for (Resume.Project project : present(resume.getProjects())) {
+                        writer.paragraph(project.getTitle(), true, TEXT);
+                        writer.paragraph(project.getDescription(), false, TEXT);
+                        writer.paragraph(joinNonBlank("  |  ", project.getGithub(), project.getLiveDemo()), false, MUTED);
+                        writer.gap();
+                    }
+                }
+            }
+            case CERTIFICATIONS -> {
+                if (hasItems(resume.getCertifications())) {
+                    writer.heading("Certifications");
+                    for (Resume.Certification certification : present(resume.getCertifications())) {
+                        writer.paragraph(joinNonBlank(" - ", certification.getTitle(),
+                                certification.getIssuer(), certification.getYear()), false, TEXT);
+                    }
+                }
+            }
+            case LANGUAGES -> {
+                if (hasItems(resume.getLanguages())) {
+                    writer.heading("Languages");
+                    writer.paragraph(resume.getLanguages().stream()
+                            .filter(Objects::nonNull)
+                            .map(Resume.Language::getName)
+                            .filter(ResumePdfRenderer::notBlank)
+                            .collect(Collectors.joining(", ")), false, TEXT);
+                }
+            }
+            case INTERESTS -> {
+                if (hasItems(resume.getInterests())) {
+                    writer.heading("Interests");
+                    writer.paragraph(String.join(", ", resume.getInterests().stream()
+                            .filter(ResumePdfRenderer::notBlank).toList()), false, TEXT);
+                }
+            }
+        }
+    }
+
+    // a list saved as [null] has nothing to print, so it gets no heading either
+    private static boolean hasItems(List<?> items) {
+        return items != null && items.stream().anyMatch(Objects::nonNull);
+    }
+
+    private static <T> List<T> present(List<T> items) {
+        return items.stream().filter(Objects::nonNull).toList();
+    }
+
+    private static boolean notBlank(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String joinNonBlank(String separator, String... parts) {
+        List<String> present = new ArrayList<>();
+        for (String part : parts) {
+            if (notBlank(part)) {
+                present.add(part.trim());
+            }
+        }
+        return String.join(separator, present);
+    }
+
+    /**
+     * Keeps the text cursor, wraps lines and starts new pages when the current one is full.
+     */
+    private static final class PageWriter implements AutoCloseable {
+
+        private final PDDocument document;
+        private final ResumeTemplateLayout layout;
+        private final Color accent;
+        // font objects cache glyphs and subsets per document, so every render gets its own
+        private final PDFont regularFont;
+        private final PDFont boldFont;
+        private final float width;
+        private PDPageContentStream content;
+        private float y;
+
+        private PageWriter(PDDocument document, ResumeTemplateLayout layout, Color accent) throws IOException {
+            this.document = document;
+            this.layout = layout;
+            this.accent = accent;
+            this.regularFont = new PDType1Font(layout.regularFont());
+            this.boldFont = new PDType1Font(layout.boldFont());
+            this.width = PDRectangle.A4.getWidth() - 2 * layout.margin();
+            newPage();
+        }
+
+        private void header(String name, String designation, String contactLine) throws IOException {
+            float nameLeading = layout.nameSize() * 1.3f;
+            boolean centered = layout.headerStyle() == ResumeTemplateLayout.HeaderStyle.CENTERED;
+
+            if (layout.headerStyle() == ResumeTemplateLayout.HeaderStyle.BAND) {
+                float bandHeight = nameLeading + layout.leading() * 2 + layout.margin() / 2;
+                content.setNonStrokingColor(accent);
+                content.addRect(0, PDRectangle.A4.getHeight() - bandHeight - layout.margin() / 2,
+                        PDRectangle.A4.getWidth(), bandHeight + layout.margin() / 2);
+                content.fill();
+                line(name, boldFont, layout.nameSize(), Color.WHITE, false, nameLeading);
+                line(designation, regularFont, layout.bodySize() + 1, Color.WHITE, false, layout.leading());
+                line(contactLine, regularFont, layout.bodySize() - 1, Color.WHITE, false, layout.leading());
+                y -= layout.margin() / 2;
+            } else {
+                line(name, boldFont, layout.nameSize(), accent, centered, nameLeading);
+                line(designation, regularFont, layout.bodySize() + 1, TEXT, centered, layout.leading());
+                line(contactLine, regularFont, layout.bodySize() - 1, MUTED, centered, layout.leading());
+            }
+            gap();
+        }
+
+        private void heading(String title) throws IOException {
+            ensureSpace(layout.headingSize() * 3);
+            gap();
+            line(title.toUpperCase(), boldFont, layout.headingSize(), accent, false, layout.headingSize() * 1.4f);
+            if (layout.headerStyle() != ResumeTemplateLayout.HeaderStyle.CENTERED) {
+                content.setStrokingColor(accent);
+                content.setLineWidth(0.8f);
+                content.moveTo(layout.margin(), y + layout.leading() / 2);
+                content.lineTo(layout.margin() + width, y + layout.leading() / 2);
+                content.stroke();
+            }
+        }
+
+        private void paragraph(String text, boolean bold, Color color) throws IOException {
+            if (!notBlank(text)) {
+                return;
+            }
+            PDFont font = bold ? boldFont : regularFont;
+            for (String rawLine : text.split("\\R")) {
+                for (String wrapped : wrap(sanitize(rawLine, font), font, layout.bodySize())) {
+                    line(wrapped, font, layout.bodySize(), color, false, layout.leading());
+                }
+            }
+        }
+
+        private void gap() {
+            y -= layout.leading() / 2;
+        }
+
+        private void line(String text, PDFont font, float size, Color color, boolean centered, float leading) throws IOException {
+            if (!notBlank(text)) {
+                return;
+            }
+            ensureSpace(leading);
+            String safe = sanitize(text, font);
+            float x = layout.margin();
+            if (centered) {
+                x += Math.max(0, (width - textWidth(safe, font, size)) / 2);
+            }
+            y -= leading;
+            content.beginText();
+            content.setFont(font, size);
+            content.setNonStrokingColor(color);
+            content.newLineAtOffset(x, y);
+            content.showText(safe);
+            content.endText();
+        }
+
+        private List<String> wrap(String text, PDFont font, float size) throws IOException {
+            List<String> lines = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            for (String word : text.split(" ")) {
+                String candidate = current.isEmpty() ? word : current + " " + word;
+                if (textWidth(candidate, font, size) <= width || current.isEmpty()) {
+                    current.setLength(0);
+                    current.append(candidate);
+                } else {
+                    lines.add(current.toString());
+                    current.setLength(0);
+                    current.append(word);
+                }
+            }
+            if (!current.isEmpty()) {
+                lines.add(current.toString());
+            }
+            return lines;
+        }
+
+        private void ensureSpace(float needed) throws IOException {
+            if (y - needed < layout.margin()) {
+                newPage();
+            }
+        }
+
+        private void newPage() throws IOException {
+            if (content != null) {
+                content.close();
+            }
+            PDPage page = new PDPage(PDRectangle.A4);
+            document.addPage(page);
+            content = new PDPageContentStream(document, page);
+            y = PDRectangle.A4.getHeight() - layout.margin();
+        }
+
+        private static float textWidth(String text, PDFont font, float size) throws IOException {
+            return font.getStringWidth(text) / 1000 * size;
+        }
+
+        // the standard 14 fonts only cover WinAnsi; anything else is replaced instead of failing the render
+        private static String sanitize(String text, PDFont font) {
+            StringBuilder safe = new StringBuilder(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '\t') {
+                    safe.append(' ');
+                } else if (c < 0x20) {
+                    continue;
+                } else if (c < 0x7f) {
+                    safe.append(c);
+                } else {
+                    try {
+                        font.encode(String.valueOf(c));
+                        safe.append(c);
+                    } catch (IOException | IllegalArgumentException e) {
+                        safe.append('?');
+                    }
+                }
+            }
+            return safe.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            content.close();
+        }
+    }
+}
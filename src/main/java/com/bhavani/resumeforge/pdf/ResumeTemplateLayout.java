@@ -0,0 +1,43 @@
+package com.bhavani.resumeforge.pdf;
+
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+
+import java.awt.Color;
+import java.util.List;
+
+/**
+ * A template compiled once into everything the renderer needs: font names, metrics, colours,
+ * header style and section order. Instances are immutable and shared between renders; the
+ * PDFBox fonts themselves keep per-document state and are created by each render.
+ */
+public record ResumeTemplateLayout(
+        String templateId,
+        Standard14Fonts.FontName regularFont,
+        Standard14Fonts.FontName boldFont,
+        float nameSize,
+        float headingSize,
+        float bodySize,
+        float leading,
+        float margin,
+        Color accent,
+        HeaderStyle headerStyle,
+        List<Section> sections
+) {
+
+    public enum HeaderStyle {
+        UNDERLINE,
+        BAND,
+        CENTERED
+    }
+
+    public enum Section {
+        SUMMARY,
+        EXPERIENCE,
+        EDUCATION,
+        SKILLS,
+        PROJECTS,
+        CERTIFICATIONS,
+        LANGUAGES,
+        INTERESTS
+    }
+}
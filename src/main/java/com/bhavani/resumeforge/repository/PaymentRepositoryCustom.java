@@ -0,0 +1,15 @@
+package com.bhavani.resumeforge.repository;
+
+import com.bhavani.resumeforge.dto.PaymentSummary;
+import com.bhavani.resumeforge.util.KeysetCursor;
+
+import java.util.List;
+
+public interface PaymentRepositoryCustom {
+
+    /**
+     * History rows for the user, newest first, starting after the cursor (null for the first page).
+     * A null status returns every status.
+     */
+    List<PaymentSummary> findSummaries(String userId, String status, KeysetCursor after, int limit);
+}
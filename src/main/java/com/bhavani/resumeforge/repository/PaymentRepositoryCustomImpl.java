@@ -0,0 +1,43 @@
+package com.bhavani.resumeforge.repository;
+
+import com.bhavani.resumeforge.document.Payment;
+import com.bhavani.resumeforge.dto.PaymentSummary;
+import com.bhavani.resumeforge.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class PaymentRepositoryCustomImpl implements PaymentRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<PaymentSummary> findSummaries(String userId, String status, KeysetCursor after, int limit) {
+        // user_created_idx serves the unfiltered history, user_status_created_idx the filtered one
+        Criteria criteria = Criteria.where("userID").is(userId);
+        if (status != null) {
+            criteria = criteria.and("status").is(status);
+        }
+        if (after != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("createdAt").lt(after.timestamp()),
+                    Criteria.where("createdAt").is(after.timestamp()).and("id").lt(after.id())
+            );
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "id"))
+                .limit(limit);
+        query.fields().include("razorpayOrderId", "amount", "currency", "planType", "status", "receipt", "createdAt");
+
+        return mongoTemplate.query(Payment.class)
+                .as(PaymentSummary.class)
+                .matching(query)
+                .all();
+    }
+}
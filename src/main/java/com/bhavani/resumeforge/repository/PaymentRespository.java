@@ -2,11 +2,14 @@ package com.bhavani.resumeforge.repository;
 
 import com.bhavani.resumeforge.document.Payment;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface PaymentRespository extends MongoRepository<Payment, String> {
+public interface PaymentRespository extends MongoRepository<Payment, String>, PaymentRepositoryCustom {
 
     Optional<Payment> findByRazorpayOrderId(String razorpayOrderId);
 
@@ -14,5 +17,12 @@ public interface PaymentRespository extends MongoRepository<Payment, String> {
 
     List<Payment> findByUserIDOrderByCreatedAtDesc(String userID);
 
-    List<Payment> findByStatus(String status);
+    // cursor-backed; close the stream (try-with-resources) when done
+    Stream<Payment> findByStatus(String status);
+
+    Optional<Payment> findByOpenOrderKey(String openOrderKey);
+
+    @Query("{ '_id': ?0, 'openOrderKey': ?1 }")
+    @Update("{ '$unset': { 'openOrderKey': '' } }")
+    long releaseOpenOrderKey(String id, String openOrderKey);
 }
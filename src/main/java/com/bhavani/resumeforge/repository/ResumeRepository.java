@@ -6,7 +6,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import java.util.List;
 import java.util.Optional;
 
-public interface ResumeRepository extends MongoRepository<Resume, String> {
+public interface ResumeRepository extends MongoRepository<Resume, String>, ResumeRepositoryCustom {
 
     List<Resume> findByUserIdOrderByUpdatedAtDesc(String userId);
 
@@ -0,0 +1,58 @@
+package com.bhavani.resumeforge.repository;
+
+import com.bhavani.resumeforge.document.Resume;
+import com.bhavani.resumeforge.dto.ResumeSummary;
+import com.bhavani.resumeforge.util.KeysetCursor;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ResumeRepositoryCustom {
+
+    /**
+     * Dashboard cards for the user, newest first, starting after the cursor (null for the first page).
+     */
+    List<ResumeSummary> findSummaries(String userId, KeysetCursor after, int limit);
+
+    /**
+     * Current revision of the user's resume, read without loading the document.
+     */
+    Optional<Long> findRevision(String userId, String resumeId);
+
+    /**
+     * Only the thumbnail and profile image links of the user's resume.
+     */
+    Optional<Resume> findImageLinks(String userId, String resumeId);
+
+    /**
+     * The user's resumes having a keyword starting with every prefix, with only the card and
+     * searchable fields loaded. Beyond {@code limit} matches only the most recently updated
+     * are returned (updatedAt desc, then _id desc), so ranking sees the same set every time.
+     */
+    List<Resume> findSearchCandidates(String userId, List<String> prefixes, int limit);
+
+    /**
+     * Only the fields the search keywords are built from, plus the revision.
+     */
+    Optional<Resume> findSearchFields(String userId, String resumeId);
+
+    /**
+     * Stores the keywords if the resume is still at {@code revision}; does not bump the revision.
+     *
+     * @return false if the resume changed in between
+     */
+    boolean setSearchKeywords(String resumeId, Long revision, List<String> keywords);
+
+    /**
+     * Applies a targeted update to the user's resume in one round-trip and bumps its revision.
+     *
+     * @param expectedRevision only update if the resume is still at this revision; null for any
+     * @param requiredPaths only update while these paths (e.g. {@code skills.3}) exist
+     * @param returnFullDocument false returns only id, revision and updatedAt
+     * @return the updated resume, or null if nothing matched
+     */
+    Resume updateResume(String userId, String resumeId, Long expectedRevision, Collection<String> requiredPaths,
+                        Update update, boolean returnFullDocument);
+}
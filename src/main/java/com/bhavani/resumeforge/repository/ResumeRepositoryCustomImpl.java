@@ -0,0 +1,119 @@
+package com.bhavani.resumeforge.repository;
+
+import com.bhavani.resumeforge.document.Resume;
+import com.bhavani.resumeforge.dto.ResumeSummary;
+import com.bhavani.resumeforge.util.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+@RequiredArgsConstructor
+public class ResumeRepositoryCustomImpl implements ResumeRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<ResumeSummary> findSummaries(String userId, KeysetCursor after, int limit) {
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (after != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("updatedAt").lt(after.timestamp()),
+                    Criteria.where("updatedAt").is(after.timestamp()).and("id").lt(after.id())
+            );
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "updatedAt", "id"))
+                .limit(limit);
+        query.fields().include("title", "thumbnailLink", "template", "updatedAt");
+
+        return mongoTemplate.query(Resume.class)
+                .as(ResumeSummary.class)
+                .matching(query)
+                .all();
+    }
+
+    @Override
+    public Optional<Long> findRevision(String userId, String resumeId) {
+        Query query = Query.query(Criteria.where("id").is(resumeId).and("userId").is(userId));
+        query.fields().include("revision");
+        return Optional.ofNullable(mongoTemplate.findOne(query, Resume.class))
+                .map(resume -> resume.getRevision() != null ? resume.getRevision() : 0L);
+    }
+
+    @Override
+    public Optional<Resume> findImageLinks(String userId, String resumeId) {
+        Query query = Query.query(Criteria.where("id").is(resumeId).and("userId").is(userId));
+        query.fields().include("thumbnailLink", "profileInfo.profilePreviewUrl");
+        return Optional.ofNullable(mongoTemplate.findOne(query, Resume.class));
+    }
+
+    @Override
+    public Resume updateResume(String userId, String resumeId, Long expectedRevision, Collection<String> requiredPaths,
+                               Update update, boolean returnFullDocument) {
+        Criteria criteria = Criteria.where("id").is(resumeId).and("userId").is(userId);
+        for (String path : requiredPaths) {
+            criteria = criteria.and(path).exists(true);
+        }
+        if (expectedRevision != null) {
+            criteria = expectedRevision == 0
+                    // resumes written before revisions existed have no field yet
+                    ? criteria.orOperator(Criteria.where("revision").is(0L), Criteria.where("revision").exists(false))
+                    : criteria.and("revision").is(expectedRevision);
+        }
+
+        Query query = new Query(criteria);
+        if (!returnFullDocument) {
+            query.fields().include("revision", "updatedAt");
+        }
+
+        return mongoTemplate.findAndModify(query, update.inc("revision", 1),
+                FindAndModifyOptions.options().returnNew(true), Resume.class);
+    }
+
+    @Override
+    public List<Resume> findSearchCandidates(String userId, List<String> prefixes, int limit) {
+        // anchored, escaped prefixes keep the keyword match an index range scan
+        Object[] patterns = prefixes.stream()
+                .map(prefix -> Pattern.compile("^" + Pattern.quote(prefix)))
+                .toArray();
+        // the cap keeps the most recently updated matches; the sort is a bounded top-k over the matches.
+        // Hinted because on a small account the planner's trial favours walking user_updated_idx for
+        // its order, which reads every resume of the user when few of them match.
+        Query query = Query.query(Criteria.where("userId").is(userId).and("searchKeywords").all(patterns))
+                .with(Sort.by(Sort.Direction.DESC, "updatedAt", "id"))
+                .limit(limit)
+                .withHint("user_keywords_idx");
+        query.fields().include("title", "thumbnailLink", "template", "updatedAt",
+                "profileInfo.designation", "profileInfo.summary", "skills.name",
+                "workExperiences.company", "projects.title");
+        return mongoTemplate.find(query, Resume.class);
+    }
+
+    @Override
+    public Optional<Resume> findSearchFields(String userId, String resumeId) {
+        Query query = Query.query(Criteria.where("id").is(resumeId).and("userId").is(userId));
+        query.fields().include("title", "profileInfo.designation", "skills.name",
+                "workExperiences.company", "projects.title", "revision");
+        return Optional.ofNullable(mongoTemplate.findOne(query, Resume.class));
+    }
+
+    @Override
+    public boolean setSearchKeywords(String resumeId, Long revision, List<String> keywords) {
+        Criteria criteria = Criteria.where("id").is(resumeId);
+        criteria = revision == null
+                ? criteria.and("revision").exists(false)
+                : criteria.and("revision").is(revision);
+        return mongoTemplate.updateFirst(new Query(criteria), new Update().set("searchKeywords", keywords), Resume.class)
+                .getMatchedCount() > 0;
+    }
+}
@@ -2,7 +2,10 @@ package com.bhavani.resumeforge.repository;
 
 import com.bhavani.resumeforge.document.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface UserRepository extends MongoRepository<User, String> {
@@ -12,4 +15,23 @@ public interface UserRepository extends MongoRepository<User, String> {
     Boolean existsByEmail(String email);
 
     Optional<User> findByVerificationToken(String verificationToken);
+
+    // background rehash of the same password: only if it was not changed in the meantime
+    @Query("{ '_id': ?0, 'password': ?2 }")
+    @Update("{ '$set': { 'password': ?1 } }")
+    void updatePassword(String id, String password, String previousPassword);
+
+    // a new password revokes every token issued before it
+    @Query("{ '_id': ?0, 'password': ?2 }")
+    @Update("{ '$set': { 'password': ?1, 'updatedAt': ?3 }, '$inc': { 'tokenVersion': 1 } }")
+    long changePassword(String id, String password, String previousPassword, LocalDateTime updatedAt);
+
+    @Query("{ '_id': ?0 }")
+    @Update("{ '$inc': { 'tokenVersion': 1 } }")
+    long revokeTokens(String id);
+
+    // matches nothing when the user is already on the plan, so repeating it is harmless
+    @Query("{ '_id': ?0, 'subscriptionPlan': { '$ne': ?1 } }")
+    @Update("{ '$set': { 'subscriptionPlan': ?1, 'updatedAt': ?2 } }")
+    long upgradeSubscriptionPlan(String id, String subscriptionPlan, LocalDateTime updatedAt);
 }
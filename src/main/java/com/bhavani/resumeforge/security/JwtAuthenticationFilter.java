@@ -1,22 +1,34 @@
 package com.bhavani.resumeforge.security;
 
-import com.bhavani.resumeforge.document.User;
 import com.bhavani.resumeforge.repository.UserRepository;
+import com.bhavani.resumeforge.service.ProfileCache;
 import com.bhavani.resumeforge.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.bhavani.resumeforge.util.AppConstants.PLAN_AUTHORITY_PREFIX;
 
 @Component
 @RequiredArgsConstructor
@@ -25,6 +37,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
+    private final UserSnapshotCache userSnapshotCache;
+    private final ProfileCache profileCache;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
 
     @Override
     protected void doFilterInternal(
@@ -37,22 +55,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
+            long startNanos = System.nanoTime();
+            String outcome = "rejected";
 
             try {
-                String userId = jwtUtil.getUserIdFromToken(token);
+                // single signature check; throws if the token is invalid or expired
+                Claims claims = jwtUtil.verify(token);
+                String userId = claims.getSubject();
 
                 if (userId != null
-                        && SecurityContextHolder.getContext().getAuthentication() == null
-                        && jwtUtil.validateToken(token)) {
+                        && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                    User user = userRepository.findById(userId).orElse(null);
+                    // empty when the user is gone or the token was revoked
+                    Optional<String> subscriptionPlan = statelessPrincipal
+                            ? planFromSnapshot(userId, claims)
+                            : planFromRepository(userId, claims);
 
-                    if (user != null) {
+                    if (subscriptionPlan.isPresent()) {
                         UsernamePasswordAuthenticationToken authentication =
                                 new UsernamePasswordAuthenticationToken(
-                                        user.getId(),                      // principal
+                                        userId,                      // principal
                                         null,
-                                        Collections.singleton(() -> "ROLE_USER") // authorities
+                                        authorities(subscriptionPlan.get())
                                 );
 
                         authentication.setDetails(
@@ -61,14 +85,54 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-                        log.debug("JWT authenticated user {}", user.getId());
+                        log.debug("JWT authenticated user {}", userId);
+                        outcome = "authenticated";
                     }
                 }
             } catch (Exception e) {
                 log.error("❌ JWT authentication failed", e);
+            } finally {
+                // auth cost per request, separate from the controller and mongo timers
+                Timer.builder("resumeforge.auth.filter")
+                        .tag("mode", statelessPrincipal ? "stateless" : "repository")
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private Optional<String> planFromRepository(String userId, Claims claims) {
+        return userRepository.findById(userId)
+                .filter(user -> user.getTokenVersion() == jwtUtil.getTokenVersion(claims))
+                .map(user -> {
+                    // services resolve the same profile later in this request
+                    profileCache.remember(user);
+                    return Objects.toString(user.getSubscriptionPlan(), "");
+                });
+    }
+
+    /**
+     * Stateless mode: the token already carries id, email, plan and token version, so
+     * we only need the cached snapshot to confirm the user exists and the token is not revoked.
+     * The snapshot's plan wins over the claim, upgrades invalidate it straight away.
+     * Invalidation is local to this instance: after a revocation the other instances
+     * keep accepting older tokens until their snapshot expires (auth.user-cache.ttl-seconds),
+     * which is why this mode is off by default.
+     */
+    private Optional<String> planFromSnapshot(String userId, Claims claims) {
+        return userSnapshotCache.get(userId)
+                .filter(snapshot -> snapshot.tokenVersion() == jwtUtil.getTokenVersion(claims))
+                .map(snapshot -> Objects.toString(snapshot.subscriptionPlan(),
+                        Objects.toString(claims.get(JwtUtil.PLAN_CLAIM, String.class), "")));
+    }
+
+    private static List<GrantedAuthority> authorities(String subscriptionPlan) {
+        return List.of(
+                new SimpleGrantedAuthority("ROLE_USER"),
+                new SimpleGrantedAuthority(PLAN_AUTHORITY_PREFIX + subscriptionPlan.toLowerCase(Locale.ROOT))
+        );
+    }
 }
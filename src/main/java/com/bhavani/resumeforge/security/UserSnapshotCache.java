@@ -0,0 +1,77 @@
+package com.bhavani.resumeforge.security;
+
+import com.bhavani.resumeforge.document.User;
+import com.bhavani.resumeforge.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Small in-memory view of the users that are currently sending requests, used by
+ * {@link JwtAuthenticationFilter} to confirm that a token's user still exists and
+ * has not been revoked without a Mongo round-trip on every call.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserSnapshotCache {
+
+    private final UserRepository userRepository;
+
+    @Value("${auth.user-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${auth.user-cache.max-size:10000}")
+    private int maxSize;
+
+    // size-bounded and expiring; a full cache evicts one entry instead of scanning
+    private Cache<String, UserSnapshot> snapshots;
+
+    public record UserSnapshot(String id, String email, String subscriptionPlan, long tokenVersion, long loadedAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        snapshots = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public Optional<UserSnapshot> get(String userId) {
+        UserSnapshot snapshot = snapshots.getIfPresent(userId);
+        if (snapshot != null) {
+            return Optional.of(snapshot);
+        }
+
+        long now = System.currentTimeMillis();
+        Optional<UserSnapshot> loaded = userRepository.findById(userId)
+                .map(user -> toSnapshot(user, now));
+        loaded.ifPresent(loadedSnapshot -> snapshots.put(userId, loadedSnapshot));
+        return loaded;
+    }
+
+    public void invalidate(String userId) {
+        if (userId != null) {
+            snapshots.invalidate(userId);
+            log.debug("User snapshot invalidated for {}", userId);
+        }
+    }
+
+    private UserSnapshot toSnapshot(User user, long now) {
+        return new UserSnapshot(
+                user.getId(),
+                user.getEmail(),
+                user.getSubscriptionPlan(),
+                user.getTokenVersion(),
+                now
+        );
+    }
+}
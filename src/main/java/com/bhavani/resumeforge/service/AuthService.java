@@ -2,34 +2,45 @@ package com.bhavani.resumeforge.service;
 
 import com.bhavani.resumeforge.document.User;
 import com.bhavani.resumeforge.dto.AuthResponse;
+import com.bhavani.resumeforge.dto.ChangePasswordRequest;
 import com.bhavani.resumeforge.dto.LoginRequest;
 import com.bhavani.resumeforge.dto.RegisterRequest;
 import com.bhavani.resumeforge.exception.ResourceExistsException;
 import com.bhavani.resumeforge.repository.UserRepository;
+import com.bhavani.resumeforge.security.UserSnapshotCache;
 import com.bhavani.resumeforge.util.JwtUtil;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Service
+@Timed(value = "resumeforge.service", histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class AuthService {
 
     private final UserRepository userRepository;
 
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
 
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
     private final JwtUtil jwtUtil;
 
+    private final UserSnapshotCache userSnapshotCache;
+
+    private final ProfileCache profileCache;
+
+    private final ImageAssetService imageAssetService;
+
     @Value("${app.base.url}")
     private String appBaseUrl;
 
@@ -42,6 +53,8 @@ public class AuthService {
         User newUser = toDocument(request);
 
         userRepository.save(newUser);
+        // the profile image was uploaded unreferenced before the account existed
+        imageAssetService.retain(newUser.getProfileImageUrl());
 
         sendVerificationEmail(newUser);
 
@@ -67,31 +80,24 @@ public class AuthService {
                             "<p style='margin:0 0 24px 0; word-break:break-all; color:#2563eb'>" + link + "</p>" +
                             "<p style='margin:0; font-size:14px; color:#6b7280'>This link expires in 24 hours.</p>" +
                             "</div>";
-            emailService.sendHtmlEmail(newUser.getEmail(), "Verify your email", html);
+            // delivered by the outbox dispatcher, keyed by token so retries never send twice
+            emailOutboxService.enqueue("verify-email:" + newUser.getVerificationToken(),
+                    newUser.getEmail(), "Verify your email", html);
         }catch (Exception e){
             log.error("Exception occured at sendVerificationEmail()", e.getMessage());
-            throw new RuntimeException("Failed to send verification email:"+e.getMessage());
+            throw new RuntimeException("Failed to queue verification email:"+e.getMessage());
         }
     }
 
     private AuthResponse toResponse(User newuser){
-        return AuthResponse.builder()
-                .id(newuser.getId())
-                .name(newuser.getName())
-                .email(newuser.getEmail())
-                .profileImageUrl(newuser.getProfileImageUrl())
-                .emailVerified(newuser.isEmailVerified())
-                .subscriptionPlan(newuser.getSubscriptionPlan())
-                .createdAt(newuser.getCreatedAt())
-                .updatedAt(newuser.getUpdatedAt())
-                .build();
+        return ProfileCache.toProfile(newuser);
     }
 
     private User toDocument(RegisterRequest request){
         return User.builder()
                 .name(request.getName())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashingService.encode(request.getPassword()))
                 .profileImageUrl(request.getProfileImageUrl())
                 .subscriptionPlan("Basic")
                 .emailVerified(false)
@@ -113,6 +119,8 @@ public class AuthService {
         user.setVerificationToken(null);
         user.setVerificationExpires(null);
         userRepository.save(user);
+        userSnapshotCache.invalidate(user.getId());
+        profileCache.evict(user.getId());
     }
 
     public AuthResponse login(LoginRequest request) {
@@ -121,17 +129,26 @@ public class AuthService {
                 .orElseThrow(() -> new RuntimeException("Invalid email or password"));
 
         // Check password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
             throw new RuntimeException("Invalid email or password");
         }
 
+        // Transparently move old hashes to the current cost factor / algorithm
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            String userId = user.getId();
+            String previousHash = user.getPassword();
+            passwordHashingService.rehashInBackground(request.getPassword(),
+                    rehashed -> userRepository.updatePassword(userId, rehashed, previousHash));
+        }
+
         // Check email verification
         if (!user.isEmailVerified()) {
             throw new RuntimeException("Email not verified. Please verify your email to continue.");
         }
 
-        // Generate JWT using user.id + email
-        String token = jwtUtil.generateToken(user.getId(), user.getEmail());
+        // Generate JWT carrying id, email, plan and token version
+        String token = jwtUtil.generateToken(user.getId(), user.getEmail(),
+                user.getSubscriptionPlan(), user.getTokenVersion());
 
         return AuthResponse.builder()
                 .id(user.getId())
@@ -157,16 +174,50 @@ public class AuthService {
         user.setVerificationExpires(LocalDateTime.now().plusHours(24));
         //Step 4: Update the user
         userRepository.save(user);
+        profileCache.evict(user.getId());
         //Step 5: Resend the verification email
         sendVerificationEmail(user);
     }
 
+    public AuthResponse changePassword(ChangePasswordRequest request, Object principalObject) {
+        //Step 1: Fetch the current user
+        String userId = (String) principalObject;
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        //Step 2: Check the current password
+        if (!passwordHashingService.matches(request.getCurrentPassword(), user.getPassword())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Current password is incorrect");
+        }
+        //Step 3: Store the new hash and bump the token version in one conditional write
+        String newHash = passwordHashingService.encode(request.getNewPassword());
+        if (userRepository.changePassword(userId, newHash, user.getPassword(), LocalDateTime.now()) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Password was changed by another request");
+        }
+        userSnapshotCache.invalidate(userId);
+        profileCache.evict(userId);
+        //Step 4: Every older token is now rejected, hand this session a fresh one
+        String token = jwtUtil.generateToken(userId, user.getEmail(),
+                user.getSubscriptionPlan(), user.getTokenVersion() + 1);
+        return AuthResponse.builder()
+                .id(userId)
+                .name(user.getName())
+                .email(user.getEmail())
+                .subscriptionPlan(user.getSubscriptionPlan())
+                .profileImageUrl(user.getProfileImageUrl())
+                .token(token)
+                .build();
+    }
+
+    public void logoutEverywhere(Object principalObject) {
+        String userId = (String) principalObject;
+        userRepository.revokeTokens(userId);
+        userSnapshotCache.invalidate(userId);
+    }
+
     public AuthResponse getProfile(Object principalObject) {
 
         String userId = (String) principalObject;
-        User existingUser = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return toResponse(existingUser);
+        return profileCache.resolve(userId);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,197 @@
+package com.bhavani.resumeforge.service;
+
+import com.bhavani.resumeforge.document.EmailOutboxMessage;
+import com.mongodb.client.result.UpdateResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.bhavani.resumeforge.document.EmailOutboxMessage.*;
+
+/**
+ * Durable outbox for transactional emails. Callers only write the message to Mongo;
+ * the dispatcher claims due messages in batches, sends them through {@link EmailService}
+ * with bounded parallelism and retries failures with exponential backoff.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxService {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final EmailService emailService;
+
+    @Value("${email.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${email.outbox.parallelism:4}")
+    private int parallelism;
+
+    @Value("${email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${email.outbox.backoff-base-seconds:5}")
+    private long backoffBaseSeconds;
+
+    @Value("${email.outbox.backoff-max-seconds:1800}")
+    private long backoffMaxSeconds;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService senders;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        // sending is blocking http, so virtual threads fit; the fixed pool still caps parallelism
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("email-outbox-", 1).factory()
+                : runnable -> {
+                    Thread thread = new Thread(runnable, "email-outbox-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                };
+        senders = Executors.newFixedThreadPool(parallelism, threadFactory);
+    }
+
+    @PreDestroy
+    public void stop() {
+        senders.shutdown();
+    }
+
+    /**
+     * Stores the message for delivery. Enqueuing the same key again is a no-op.
+     */
+    public void enqueue(String messageKey, String recipient, String subject, String htmlContent) {
+        EmailOutboxMessage message = EmailOutboxMessage.builder()
+                .messageKey(messageKey)
+                .recipient(recipient)
+                .subject(subject)
+                .htmlContent(htmlContent)
+                .status(PENDING)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+        try {
+            mongoTemplate.insert(message);
+        } catch (DuplicateKeyException e) {
+            log.info("Email {} is already in the outbox, skipping", messageKey);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:2000}")
+    public void dispatchPending() {
+        //Step 1: claim a batch of due messages
+        List<EmailOutboxMessage> batch = claimBatch();
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        //Step 2: send them with bounded parallelism
+        List<Future<?>> deliveries = new ArrayList<>(batch.size());
+        for (EmailOutboxMessage message : batch) {
+            deliveries.add(senders.submit(() -> deliver(message)));
+        }
+
+        //Step 3: wait for the batch before claiming the next one
+        for (Future<?> delivery : deliveries) {
+            try {
+                delivery.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.error("Email outbox delivery crashed", e.getCause());
+            }
+        }
+    }
+
+    private List<EmailOutboxMessage> claimBatch() {
+        List<EmailOutboxMessage> claimed = new ArrayList<>();
+        for (int i = 0; i < batchSize; i++) {
+            LocalDateTime now = LocalDateTime.now();
+            Update claim = new Update()
+                    .set("status", SENDING)
+                    .set("lockedUntil", now.plusSeconds(leaseSeconds))
+                    .inc("attempts", 1);
+
+            // due pending messages first, then messages whose sender died while holding the lease;
+            // each query walks its own index in order, an $or of the two would need an in-memory sort
+            Query due = Query.query(Criteria.where("status").is(PENDING).and("nextAttemptAt").lte(now))
+                    .with(Sort.by(Sort.Direction.ASC, "nextAttemptAt"));
+            EmailOutboxMessage message = mongoTemplate.findAndModify(due, claim,
+                    FindAndModifyOptions.options().returnNew(true), EmailOutboxMessage.class);
+            if (message == null) {
+                Query expired = Query.query(Criteria.where("status").is(SENDING).and("lockedUntil").lt(now))
+                        .with(Sort.by(Sort.Direction.ASC, "lockedUntil"));
+                message = mongoTemplate.findAndModify(expired, claim,
+                        FindAndModifyOptions.options().returnNew(true), EmailOutboxMessage.class);
+            }
+            if (message == null) {
+                break;
+            }
+            claimed.add(message);
+        }
+        return claimed;
+    }
+
+    private void deliver(EmailOutboxMessage message) {
+        // a failure is only recorded while we still hold the lease we claimed: once it expired
+        // another worker owns the message and may already have sent it
+        Query byLease = Query.query(Criteria.where("_id").is(message.getId())
+                .and("status").is(SENDING)
+                .and("lockedUntil").is(message.getLockedUntil()));
+        // a success is a fact whoever holds the lease; recording it stops any further attempt
+        Query notSent = Query.query(Criteria.where("_id").is(message.getId()).and("status").ne(SENT));
+        try {
+            emailService.sendHtmlEmail(message.getRecipient(), message.getSubject(), message.getHtmlContent());
+            UpdateResult sent = mongoTemplate.updateFirst(notSent, new Update()
+                    .set("status", SENT)
+                    .set("sentAt", LocalDateTime.now())
+                    .unset("lockedUntil")
+                    .unset("lastError"), EmailOutboxMessage.class);
+            if (sent.getMatchedCount() == 0) {
+                log.warn("Email {} was already marked sent by another worker", message.getMessageKey());
+            }
+        } catch (Exception e) {
+            boolean exhausted = message.getAttempts() >= maxAttempts;
+            log.warn("Email {} attempt {} failed{}", message.getMessageKey(), message.getAttempts(),
+                    exhausted ? ", giving up" : "");
+            mongoTemplate.updateFirst(byLease, new Update()
+                    .set("status", exhausted ? FAILED : PENDING)
+                    .set("nextAttemptAt", LocalDateTime.now().plusSeconds(backoffSeconds(message.getAttempts())))
+                    .set("lastError", e.getMessage())
+                    .unset("lockedUntil"), EmailOutboxMessage.class);
+        }
+    }
+
+    private long backoffSeconds(int attempts) {
+        long delay = backoffBaseSeconds << Math.min(attempts - 1, 20);
+        return Math.min(delay, backoffMaxSeconds);
+    }
+}
@@ -1,21 +1,31 @@
 package com.bhavani.resumeforge.service;
 
+import com.bhavani.resumeforge.exception.OutboundUnavailableException;
+import com.bhavani.resumeforge.integration.OutboundGuard;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.RestTemplate;
+import tools.jackson.core.Base64Variants;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 @Service
+@Timed(value = "resumeforge.service", histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
+    private static final String BREVO = "brevo";
+
     @Value("${brevo.api.key}")
     private String apiKey;
 
@@ -25,14 +35,19 @@ public class EmailService {
     @Value("${brevo.sender.name}")
     private String senderName;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Value("${brevo.api.url:https://api.brevo.com/v3/smtp/email}")
+    private String apiUrl;
+
+    private final RestTemplate restTemplate;
+
+    private final OutboundGuard outboundGuard;
+
+    private final ObjectMapper objectMapper;
 
     public void sendHtmlEmail(String to, String subject, String htmlContent) {
 
         log.info("Inside the EmailService: sendHtmlEmail() {}, {}, {}", to, subject, htmlContent);
 
-        String url = "https://api.brevo.com/v3/smtp/email";
-
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.set("api-key", apiKey);
@@ -62,61 +77,89 @@ public class EmailService {
         HttpEntity<String> request = new HttpEntity<>(body, headers);
 
         try {
-            ResponseEntity<String> response =
-                    restTemplate.postForEntity(url, request, String.class);
+            ResponseEntity<String> response = outboundGuard.call(BREVO,
+                    () -> restTemplate.postForEntity(apiUrl, request, String.class));
 
             log.info("Brevo email sent successfully: {}", response.getStatusCode());
+        } catch (OutboundUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Brevo email sending failed", e);
             throw new RuntimeException("Failed to send email");
         }
     }
 
+    /**
+     * Sends the attachment without holding it in memory: the part is read in chunks and
+     * base64-encoded straight into the outbound JSON body.
+     */
     public void sentEmailWithAttachment(
             String to,
             String subject,
             String body,
-            byte[] attachment,
+            InputStream attachment,
             String filename
     ) {
 
-        String url = "https://api.brevo.com/v3/smtp/email";
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("api-key", apiKey);
-
-        String encodedAttachment =
-                java.util.Base64.getEncoder().encodeToString(attachment);
-
-        // Attachment object
-        Map<String, Object> attachmentMap = new HashMap<>();
-        attachmentMap.put("content", encodedAttachment);
-        attachmentMap.put("name", filename);
-        attachmentMap.put("type", "application/pdf");
-
-        // Request body
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("sender", Map.of(
-                "name", senderName,
-                "email", senderEmail
-        ));
-        payload.put("to", List.of(Map.of("email", to)));
-        payload.put("subject", subject);
-        payload.put("htmlContent", body);
-        payload.put("attachment", List.of(attachmentMap));
-
-        HttpEntity<Map<String, Object>> request =
-                new HttpEntity<>(payload, headers);
+        RequestCallback writePayload = request -> {
+            request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            request.getHeaders().set("api-key", apiKey);
+            if (request instanceof StreamingHttpOutputMessage streamingRequest) {
+                streamingRequest.setBody(out -> writeAttachmentPayload(out, to, subject, body, attachment, filename));
+            } else {
+                writeAttachmentPayload(request.getBody(), to, subject, body, attachment, filename);
+            }
+        };
 
         try {
-            restTemplate.postForEntity(url, request, String.class);
+            outboundGuard.call(BREVO, () -> restTemplate.execute(apiUrl, HttpMethod.POST, writePayload,
+                    response -> response.getStatusCode()));
             log.info("Email with attachment sent successfully");
+        } catch (OutboundUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to send email with attachment", e);
             throw new RuntimeException("Email sending failed");
         }
     }
 
-
+    private void writeAttachmentPayload(OutputStream out,
+                                        String to,
+                                        String subject,
+                                        String body,
+                                        InputStream attachment,
+                                        String filename) {
+        try (JsonGenerator generator = objectMapper.createGenerator(StreamUtils.nonClosing(out))) {
+            generator.writeStartObject();
+
+            generator.writeName("sender");
+            generator.writeStartObject();
+            generator.writeStringProperty("name", senderName);
+            generator.writeStringProperty("email", senderEmail);
+            generator.writeEndObject();
+
+            generator.writeName("to");
+            generator.writeStartArray();
+            generator.writeStartObject();
+            generator.writeStringProperty("email", to);
+            generator.writeEndObject();
+            generator.writeEndArray();
+
+            generator.writeStringProperty("subject", subject);
+            generator.writeStringProperty("htmlContent", body);
+
+            // Attachment object
+            generator.writeName("attachment");
+            generator.writeStartArray();
+            generator.writeStartObject();
+            generator.writeStringProperty("name", filename);
+            generator.writeStringProperty("type", "application/pdf");
+            generator.writeName("content");
+            generator.writeBinary(Base64Variants.MIME_NO_LINEFEEDS, attachment, -1);
+            generator.writeEndObject();
+            generator.writeEndArray();
+
+            generator.writeEndObject();
+        }
+    }
 }
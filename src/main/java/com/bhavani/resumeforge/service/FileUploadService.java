@@ -1,24 +1,41 @@
 package com.bhavani.resumeforge.service;
 
+import com.bhavani.resumeforge.document.ImageAsset;
 import com.bhavani.resumeforge.document.Resume;
 import com.bhavani.resumeforge.dto.AuthResponse;
+import com.bhavani.resumeforge.integration.OutboundGuard;
 import com.bhavani.resumeforge.repository.ResumeRepository;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @Service
+@Timed(value = "resumeforge.service", histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class FileUploadService {
@@ -26,11 +43,21 @@ public class FileUploadService {
     private final Cloudinary cloudinary;
     private final AuthService authService;
     private final ResumeRepository resumeRepository;
+    private final OutboundGuard outboundGuard;
+    private final ImageOptimizer imageOptimizer;
+    private final ImageAssetService imageAssetService;
+
+    @Value("${upload.image.thumbnail-max-dimension:1200}")
+    private int thumbnailMaxDimension;
+
+    @Value("${upload.image.profile-max-dimension:512}")
+    private int profileMaxDimension;
 
     public Map<String, String> uploadSingleImage(MultipartFile file) throws IOException {
-        Map<String, Object> imageUploadResult = cloudinary.uploader().upload(file.getBytes(), ObjectUtils.asMap("resource_type", "image"));
-        log.info("Inside FileUploadService: uploadSingleImage() {}", imageUploadResult.get("secure_url").toString());
-        return Map.of("imageUrl", imageUploadResult.get("secure_url").toString());
+        // picked before the account exists: registration takes the reference, if it ever happens
+        String imageUrl = uploadImage(file, profileMaxDimension, false);
+        log.info("Inside FileUploadService: uploadSingleImage() {}", imageUrl);
+        return Map.of("imageUrl", imageUrl);
     }
 
     public Map<String, String> uploadResumeImages(String resumeId,
@@ -40,34 +67,116 @@ public class FileUploadService {
         //Step 1: get the current profile
         AuthResponse response = authService.getProfile(principal);
 
-        //Step 2: get the existing resume
-        Resume existingResume = resumeRepository.findByUserIdAndId(response.getId(), resumeId)
+        //Step 2: make sure the resume exists before paying for any upload, keeping the links it replaces
+        Resume currentLinks = resumeRepository.findImageLinks(response.getId(), resumeId)
                 .orElseThrow(() -> new RuntimeException("Resume not found"));
 
-        //Step 3: upload the resume images and set the resume
+        //Step 3: optimize and upload both images concurrently
         Map<String, String> returnValue = new HashMap<>();
-        Map<String, String> uploadResult;
-
-        if(Objects.nonNull(thumbnail)) {
-            uploadResult = uploadSingleImage(thumbnail);
-            existingResume.setThumbnailLink(uploadResult.get("imageUrl"));
-            returnValue.put("thumbnailLink", uploadResult.get("imageUrl"));
-        }
+        Update update = new Update();
+        Future<String> thumbnailUpload = null;
+        Future<String> profileUpload = null;
+        try {
+            // closing the executor waits for both, so a failed one never leaves the other running
+            try (ExecutorService uploads = Executors.newVirtualThreadPerTaskExecutor()) {
+                thumbnailUpload = Objects.nonNull(thumbnail)
+                        ? uploads.submit(() -> uploadImage(thumbnail, thumbnailMaxDimension, true)) : null;
+                profileUpload = Objects.nonNull(profileImage)
+                        ? uploads.submit(() -> uploadImage(profileImage, profileMaxDimension, true)) : null;
+            }
 
-        if(Objects.nonNull(profileImage)) {
-            uploadResult = uploadSingleImage(profileImage);
+            if (thumbnailUpload != null) {
+                String thumbnailLink = await(thumbnailUpload);
+                update.set("thumbnailLink", thumbnailLink);
+                returnValue.put("thumbnailLink", thumbnailLink);
+            }
+            if (profileUpload != null) {
+                String profilePreviewUrl = await(profileUpload);
+                update.set("profileInfo.profilePreviewUrl", profilePreviewUrl);
+                returnValue.put("profilePreviewUrl", profilePreviewUrl);
+            }
 
-            if (Objects.isNull(existingResume.getProfileInfo())) {
-                existingResume.setProfileInfo(new Resume.ProfileInfo());
+            //Step 4: write only the changed links
+            if (!update.getUpdateObject().isEmpty()) {
+                update.set("updatedAt", LocalDateTime.now());
+                Resume updated = resumeRepository.updateResume(response.getId(), resumeId, null, List.of(), update, false);
+                if (updated == null) {
+                    throw new RuntimeException("Resume not found");
+                }
             }
-            existingResume.getProfileInfo().setProfilePreviewUrl(uploadResult.get("imageUrl"));
-            returnValue.put("profilePreviewUrl", uploadResult.get("imageUrl"));
+        } catch (IOException | RuntimeException e) {
+            // an image that uploaded while the other one (or the write) failed is referenced by nothing
+            releaseUploaded(thumbnailUpload);
+            releaseUploaded(profileUpload);
+            throw e;
+        }
 
+        //Step 5: drop the references held by the replaced images
+        if (returnValue.containsKey("thumbnailLink")) {
+            imageAssetService.release(currentLinks.getThumbnailLink());
+        }
+        if (returnValue.containsKey("profilePreviewUrl") && Objects.nonNull(currentLinks.getProfileInfo())) {
+            imageAssetService.release(currentLinks.getProfileInfo().getProfilePreviewUrl());
         }
-        //Step 4: update the details into db
-        resumeRepository.save(existingResume);
         returnValue.put("message", "Images uploaded successfully");
-        //Step 5: return the result
+        //Step 6: return the result
         return returnValue;
     }
-}
\ No newline at end of file
+
+    private String uploadImage(MultipartFile file, int maxDimension, boolean referenced) throws IOException {
+        //Step 1: hash the bytes while reading the multipart body
+        MessageDigest digest = sha256();
+        byte[] original;
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+            original = in.readAllBytes();
+        }
+        // the same bytes optimized for another size are a different asset
+        String contentKey = HexFormat.of().formatHex(digest.digest()) + ":" + maxDimension;
+
+        //Step 2: only optimize and upload content we have not stored yet
+        ImageAssetService.Upload upload = () -> {
+            byte[] bytes = imageOptimizer.optimize(original, maxDimension);
+            Map<String, Object> imageUploadResult = outboundGuard.call("cloudinary",
+                    () -> cloudinary.uploader().upload(bytes, ObjectUtils.asMap("resource_type", "image")));
+            return ImageAsset.builder()
+                    .secureUrl(imageUploadResult.get("secure_url").toString())
+                    .publicId(Objects.toString(imageUploadResult.get("public_id"), null))
+                    .bytes(bytes.length)
+                    .build();
+        };
+        return referenced
+                ? imageAssetService.acquire(contentKey, upload)
+                : imageAssetService.register(contentKey, upload);
+    }
+
+    private void releaseUploaded(@Nullable Future<String> upload) {
+        if (upload != null && upload.state() == Future.State.SUCCESS) {
+            imageAssetService.release(upload.resultNow());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String await(Future<String> upload) throws IOException {
+        try {
+            return upload.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Request interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Image upload failed", e.getCause());
+        }
+    }
+}
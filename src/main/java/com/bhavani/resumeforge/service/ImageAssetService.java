@@ -0,0 +1,135 @@
+package com.bhavani.resumeforge.service;
+
+import com.bhavani.resumeforge.document.ImageAsset;
+import com.bhavani.resumeforge.integration.OutboundGuard;
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Content-addressed index of images already stored on Cloudinary. An upload whose
+ * bytes were seen before is answered with the existing url and only bumps its
+ * reference count; {@link #release} drops a reference when a resume or profile stops
+ * using it. An asset at zero references is what cleanup may delete.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImageAssetService {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Cloudinary cloudinary;
+
+    private final OutboundGuard outboundGuard;
+
+    @FunctionalInterface
+    public interface Upload {
+        ImageAsset upload() throws IOException;
+    }
+
+    /**
+     * Url for the content key with one reference taken, uploading through {@code upload}
+     * only when the key is new.
+     */
+    public String acquire(String contentKey, Upload upload) throws IOException {
+        return store(contentKey, upload, 1);
+    }
+
+    /**
+     * Url for the content key without taking a reference, for uploads nothing points at yet
+     * (a profile image picked before the account exists). Whoever stores the url later calls
+     * {@link #retain}; until then a new asset sits at zero references.
+     */
+    public String register(String contentKey, Upload upload) throws IOException {
+        return store(contentKey, upload, 0);
+    }
+
+    /**
+     * Takes one reference to the url; unknown urls (uploaded before dedup existed) are ignored.
+     */
+    public void retain(String secureUrl) {
+        if (Objects.isNull(secureUrl) || secureUrl.isBlank()) {
+            return;
+        }
+        Query query = Query.query(Criteria.where("secureUrl").is(secureUrl));
+        mongoTemplate.updateFirst(query, new Update().inc("refCount", 1).set("lastUsedAt", LocalDateTime.now()),
+                ImageAsset.class);
+    }
+
+    private String store(String contentKey, Upload upload, int references) throws IOException {
+        //Step 1: known content, take the references and return straight away
+        Optional<String> existing = reference(contentKey, references);
+        if (existing.isPresent()) {
+            meterRegistry.counter("resumeforge.image.dedup", "result", "hit").increment();
+            return existing.get();
+        }
+
+        //Step 2: new content, upload and register it
+        meterRegistry.counter("resumeforge.image.dedup", "result", "miss").increment();
+        ImageAsset asset = upload.upload();
+        asset.setContentKey(contentKey);
+        asset.setRefCount(references);
+        asset.setLastUsedAt(LocalDateTime.now());
+        try {
+            mongoTemplate.insert(asset);
+            return asset.getSecureUrl();
+        } catch (DuplicateKeyException e) {
+            //Step 3: a concurrent upload of the same bytes won; share its url and delete ours,
+            // which no record points at and no cleanup could ever find
+            log.info("Image {} was registered concurrently, reusing the existing upload", contentKey);
+            destroy(asset);
+            return reference(contentKey, references).orElse(asset.getSecureUrl());
+        }
+    }
+
+    /**
+     * Drops one reference to the url; unknown urls (uploaded before dedup existed) are ignored.
+     */
+    public void release(String secureUrl) {
+        if (Objects.isNull(secureUrl) || secureUrl.isBlank()) {
+            return;
+        }
+        Query query = Query.query(Criteria.where("secureUrl").is(secureUrl).and("refCount").gt(0));
+        mongoTemplate.updateFirst(query, new Update().inc("refCount", -1), ImageAsset.class);
+    }
+
+    private Optional<String> reference(String contentKey, int references) {
+        Query query = Query.query(Criteria.where("contentKey").is(contentKey));
+        query.fields().include("secureUrl");
+        Update update = new Update()
+                .inc("refCount", references)
+                .set("lastUsedAt", LocalDateTime.now());
+        ImageAsset asset = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), ImageAsset.class);
+        return Optional.ofNullable(asset).map(ImageAsset::getSecureUrl);
+    }
+
+    private void destroy(ImageAsset asset) {
+        if (Objects.isNull(asset.getPublicId())) {
+            log.warn("Duplicate upload {} has no public id and cannot be deleted", asset.getSecureUrl());
+            return;
+        }
+        try {
+            outboundGuard.call("cloudinary", () -> cloudinary.uploader().destroy(asset.getPublicId(), ObjectUtils.emptyMap()));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not delete duplicate upload {} ({})", asset.getPublicId(), asset.getSecureUrl(), e);
+        }
+    }
+}
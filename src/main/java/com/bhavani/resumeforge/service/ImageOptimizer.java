@@ -0,0 +1,121 @@
+package com.bhavani.resumeforge.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Downscales and recompresses uploaded images before they are sent to Cloudinary,
+ * so a 6 MB phone photo travels as a few hundred KB.
+ */
+@Service
+@Slf4j
+public class ImageOptimizer {
+
+    @Value("${upload.image.jpeg-quality:0.82}")
+    private float jpegQuality;
+
+    // 50 MP covers any phone camera; decoding one still costs at most a subsampled raster
+    @Value("${upload.image.max-pixels:50000000}")
+    private long maxPixels;
+
+    /**
+     * Returns a JPEG no larger than {@code maxDimension} on its longest side. The original
+     * bytes are kept when they are already within bounds and smaller than the re-encoded image.
+     */
+    public byte[] optimize(byte[] original, int maxDimension) throws IOException {
+        //Step 1: decode, rejecting anything that is not an image or is too big to decode
+        BufferedImage source = decode(original, maxDimension);
+
+        //Step 2: scale down to the target box, flattening transparency onto white
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        //Step 3: recompress and keep whichever is smaller
+        byte[] compressed = encodeJpeg(scaled);
+        // scale is only 1.0 when the image needed no subsampling either
+        if (scale == 1.0 && compressed.length >= original.length) {
+            return original;
+        }
+        log.debug("Image optimized from {} to {} bytes ({}x{})", original.length, compressed.length, width, height);
+        return compressed;
+    }
+
+    /**
+     * Reads the dimensions from the header before decoding anything, so a few-KB image that
+     * claims to be 50000x50000 pixels is rejected instead of allocating gigabytes. Images within
+     * the budget are decoded subsampled to at most twice the target size; the bilinear scale
+     * does the rest, and a 24 MP photo never sits in memory at full resolution.
+     */
+    private BufferedImage decode(byte[] original, int maxDimension) throws IOException {
+        try (ImageInputStream input = new MemoryCacheImageInputStream(new ByteArrayInputStream(original))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width < 1 || height < 1 || (long) width * height > maxPixels) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Image dimensions are too large");
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / (2 * maxDimension));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IIOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported image format");
+        }
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
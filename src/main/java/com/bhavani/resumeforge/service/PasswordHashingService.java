@@ -0,0 +1,151 @@
+package com.bhavani.resumeforge.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs password hashing on a small dedicated pool so a burst of logins cannot
+ * occupy every request thread. When the queue is full callers get a 503 straight away.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.password.hashing.threads:2}")
+    private int threads;
+
+    @Value("${security.password.hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${security.password.hashing.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        meterRegistry.gauge("resumeforge.password.hashing.queue", executor, pool -> pool.getQueue().size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    public String encode(String rawPassword) {
+        return await("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return await("matches", () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * True when the stored hash was produced with an older cost factor or algorithm.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Re-encodes the password in the background; skipped if the pool is saturated,
+     * the next successful login will try again.
+     */
+    public void rehashInBackground(String rawPassword, Consumer<String> onRehashed) {
+        Callable<String> rehash = timed("rehash", System.nanoTime(), () -> passwordEncoder.encode(rawPassword));
+        try {
+            executor.execute(() -> {
+                try {
+                    onRehashed.accept(rehash.call());
+                } catch (Exception e) {
+                    log.warn("Password rehash failed: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Password rehash skipped, hashing pool is saturated");
+        }
+    }
+
+    private <T> T await(String operation, Callable<T> work) {
+        long startNanos = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(timed(operation, startNanos, work));
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("resumeforge.password.hashing.rejected", "operation", operation).increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many requests, please try again shortly");
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many requests, please try again shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Request interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        } finally {
+            stageTimer(operation, "total").record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private <T> Callable<T> timed(String operation, long enqueuedNanos, Callable<T> work) {
+        return () -> {
+            long startedNanos = System.nanoTime();
+            stageTimer(operation, "queue").record(startedNanos - enqueuedNanos, TimeUnit.NANOSECONDS);
+            try {
+                return work.call();
+            } finally {
+                stageTimer(operation, "hash").record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    private Timer stageTimer(String operation, String stage) {
+        return Timer.builder("resumeforge.password.hashing")
+                .tag("operation", operation)
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+}
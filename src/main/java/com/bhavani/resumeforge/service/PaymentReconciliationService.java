@@ -0,0 +1,305 @@
+package com.bhavani.resumeforge.service;
+
+import com.bhavani.resumeforge.document.JobCheckpoint;
+import com.bhavani.resumeforge.document.Payment;
+import com.bhavani.resumeforge.exception.OutboundUnavailableException;
+import com.bhavani.resumeforge.integration.OutboundGuard;
+import com.razorpay.Order;
+import com.razorpay.RazorpayClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Resolves orders that stayed {@code created} because the browser callback and the
+ * webhook never arrived. Stale payments are streamed oldest first through a Mongo cursor,
+ * each order is looked up at Razorpay with bounded parallelism and a request rate cap, and
+ * the outcomes of every chunk are written in bulk before the checkpoint moves past it.
+ * A pass that stops early (restart, Razorpay unavailable) resumes from the checkpoint.
+ * The checkpoint doubles as a lease, so only one instance talks to Razorpay at a time.
+ */
+@Service
+@ConditionalOnProperty(name = "payment.reconcile.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentReconciliationService {
+
+    static final String JOB_NAME = "payment-reconciliation";
+
+    private final MongoTemplate mongoTemplate;
+    private final RazorpayClient razorpayClient;
+    private final OutboundGuard outboundGuard;
+    private final PaymentSettlementService paymentSettlementService;
+    private final MeterRegistry meterRegistry;
+
+    // younger orders may still be on someone's checkout screen
+    @Value("${payment.reconcile.stale-after-minutes:60}")
+    private long staleAfterMinutes;
+
+    @Value("${payment.reconcile.abandon-after-hours:24}")
+    private long abandonAfterHours;
+
+    @Value("${payment.reconcile.chunk-size:100}")
+    private int chunkSize;
+
+    @Value("${payment.reconcile.parallelism:4}")
+    private int parallelism;
+
+    @Value("${payment.reconcile.requests-per-second:5}")
+    private double requestsPerSecond;
+
+    // renewed with every chunk; only runs out when the owning instance stops mid-pass
+    @Value("${payment.reconcile.lease-seconds:600}")
+    private long leaseSeconds;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private ExecutorService lookups;
+
+    private RateLimiter rateLimiter;
+
+    private enum Outcome { PAID, ABANDONED, PENDING, FAILED }
+
+    private record Lookup(Payment payment, Outcome outcome) {
+    }
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "payment-reconcile-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        lookups = Executors.newFixedThreadPool(parallelism, threadFactory);
+        rateLimiter = new RateLimiter(requestsPerSecond);
+    }
+
+    @PreDestroy
+    public void stop() {
+        lookups.shutdownNow();
+    }
+
+    @Scheduled(fixedDelayString = "${payment.reconcile.interval-ms:300000}",
+            initialDelayString = "${payment.reconcile.initial-delay-ms:60000}")
+    public void reconcile() {
+        //Step 1: take the lease; another instance holding it runs this pass
+        LocalDateTime now = LocalDateTime.now();
+        JobCheckpoint checkpoint = acquireLease(now);
+        if (Objects.isNull(checkpoint)) {
+            log.debug("Payment reconciliation is running on another instance");
+            return;
+        }
+
+        try {
+            //Step 2: stream stale created payments from the checkpoint onwards
+            Query query = staleAfter(checkpoint, now.minusMinutes(staleAfterMinutes));
+            int scanned = 0;
+            try (Stream<Payment> stream = mongoTemplate.stream(query, Payment.class)) {
+                Iterator<Payment> payments = stream.iterator();
+                List<Payment> chunk = new ArrayList<>(chunkSize);
+                while (payments.hasNext()) {
+                    chunk.add(payments.next());
+                    if (chunk.size() == chunkSize || !payments.hasNext()) {
+                        //Step 3: resolve and apply one chunk, then move the checkpoint past it
+                        if (!reconcileChunk(chunk, now)) {
+                            log.warn("Payment reconciliation paused after {} payments, resuming from the checkpoint next run", scanned);
+                            return;
+                        }
+                        scanned += chunk.size();
+                        if (!saveCheckpoint(chunk.get(chunk.size() - 1))) {
+                            log.warn("Payment reconciliation lost its lease after {} payments", scanned);
+                            return;
+                        }
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            //Step 4: the pass is complete, the next one starts from the oldest stale payment again
+            mongoTemplate.updateFirst(ownLease(), new Update().unset("lastCreatedAt").unset("lastId"), JobCheckpoint.class);
+            if (scanned > 0) {
+                log.info("Payment reconciliation checked {} stale payments", scanned);
+            }
+        } finally {
+            mongoTemplate.updateFirst(ownLease(), new Update().unset("owner").unset("lockedUntil"), JobCheckpoint.class);
+        }
+    }
+
+    /**
+     * Claims the job's checkpoint document, creating it on the first run.
+     *
+     * @return the checkpoint to resume from, or null while another instance holds the lease
+     */
+    private JobCheckpoint acquireLease(LocalDateTime now) {
+        Query free = Query.query(Criteria.where("_id").is(JOB_NAME).orOperator(
+                Criteria.where("lockedUntil").is(null),
+                Criteria.where("lockedUntil").lt(now)
+        ));
+        Update lease = new Update()
+                .set("owner", instanceId)
+                .set("lockedUntil", now.plusSeconds(leaseSeconds));
+        try {
+            return mongoTemplate.findAndModify(free, lease,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), JobCheckpoint.class);
+        } catch (DuplicateKeyException e) {
+            // the document exists and is leased, so the upsert tried to insert a second one
+            return null;
+        }
+    }
+
+    private Query ownLease() {
+        return Query.query(Criteria.where("_id").is(JOB_NAME).and("owner").is(instanceId));
+    }
+
+    /**
+     * @return false when the pass should stop and resume later from the checkpoint
+     */
+    private boolean reconcileChunk(List<Payment> chunk, LocalDateTime now) throws InterruptedException {
+        //Step 1: look the orders up with bounded parallelism and a request rate cap
+        List<Future<Lookup>> pending = new ArrayList<>(chunk.size());
+        for (Payment payment : chunk) {
+            rateLimiter.acquire();
+            pending.add(lookups.submit(() -> lookup(payment, now)));
+        }
+
+        List<Lookup> results = new ArrayList<>(chunk.size());
+        for (Future<Lookup> future : pending) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                // Razorpay is down or the breaker is open; nothing in this chunk is applied
+                log.warn("Payment reconciliation lookup failed: {}", e.getCause().getMessage());
+                pending.forEach(remaining -> remaining.cancel(true));
+                return false;
+            }
+        }
+
+        //Step 2: apply the outcomes in bulk
+        Map<String, String> paid = new HashMap<>();
+        List<String> abandoned = new ArrayList<>();
+        for (Lookup result : results) {
+            switch (result.outcome()) {
+                case PAID -> paid.put(result.payment().getRazorpayOrderId(), null);
+                case ABANDONED -> abandoned.add(result.payment().getId());
+                default -> { }
+            }
+            meterRegistry.counter("resumeforge.payment.reconcile", "outcome", result.outcome().name().toLowerCase(Locale.ROOT)).increment();
+        }
+        paymentSettlementService.markPaid(paid);
+        paymentSettlementService.markAbandoned(abandoned);
+        return true;
+    }
+
+    private Lookup lookup(Payment payment, LocalDateTime now) {
+        Order order;
+        try {
+            order = outboundGuard.call("razorpay", () -> razorpayClient.orders.fetch(payment.getRazorpayOrderId()));
+        } catch (OutboundUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            // one bad order (deleted, wrong account) must not hold up the rest
+            log.warn("Could not fetch order {}: {}", payment.getRazorpayOrderId(), e.getMessage());
+            return new Lookup(payment, Outcome.FAILED);
+        }
+
+        if ("paid".equals(order.get("status"))) {
+            return new Lookup(payment, Outcome.PAID);
+        }
+        boolean expired = Objects.nonNull(payment.getCreatedAt())
+                && payment.getCreatedAt().isBefore(now.minusHours(abandonAfterHours));
+        return new Lookup(payment, expired ? Outcome.ABANDONED : Outcome.PENDING);
+    }
+
+    private Query staleAfter(JobCheckpoint checkpoint, LocalDateTime staleBefore) {
+        // status_created_id_idx serves both the filter and the sort
+        Criteria criteria = Criteria.where("status").is("created").and("createdAt").lt(staleBefore);
+        if (Objects.nonNull(checkpoint.getLastCreatedAt())) {
+            criteria = criteria.orOperator(
+                    Criteria.where("createdAt").gt(checkpoint.getLastCreatedAt()),
+                    Criteria.where("createdAt").is(checkpoint.getLastCreatedAt()).and("id").gt(checkpoint.getLastId())
+            );
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "createdAt", "id"))
+                .cursorBatchSize(chunkSize);
+        query.fields().include("razorpayOrderId", "createdAt");
+        return query;
+    }
+
+    /**
+     * Moves the checkpoint past {@code last} and renews the lease.
+     *
+     * @return false when the lease was lost to another instance
+     */
+    private boolean saveCheckpoint(Payment last) {
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .set("lastCreatedAt", last.getCreatedAt())
+                .set("lastId", last.getId())
+                .set("updatedAt", now)
+                .set("lockedUntil", now.plusSeconds(leaseSeconds));
+        return mongoTemplate.updateFirst(ownLease(), update, JobCheckpoint.class).getMatchedCount() > 0;
+    }
+
+    /**
+     * Spaces calls evenly at the configured rate; callers wait for their slot.
+     */
+    private static final class RateLimiter {
+
+        private final long intervalNanos;
+
+        private long nextSlot = System.nanoTime();
+
+        RateLimiter(double permitsPerSecond) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        }
+
+        void acquire() throws InterruptedException {
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long slot = Math.max(now, nextSlot);
+                nextSlot = slot + intervalNanos;
+                waitNanos = slot - now;
+            }
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+    }
+}
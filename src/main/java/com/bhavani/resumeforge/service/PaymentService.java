@@ -1,48 +1,137 @@
 package com.bhavani.resumeforge.service;
 
 import com.bhavani.resumeforge.document.Payment;
-import com.bhavani.resumeforge.document.User;
 import com.bhavani.resumeforge.dto.AuthResponse;
+import com.bhavani.resumeforge.dto.CursorPage;
+import com.bhavani.resumeforge.dto.PaymentSummary;
+import com.bhavani.resumeforge.integration.OutboundGuard;
 import com.bhavani.resumeforge.repository.PaymentRespository;
 import com.bhavani.resumeforge.repository.UserRepository;
+import com.bhavani.resumeforge.security.UserSnapshotCache;
+import com.bhavani.resumeforge.util.KeysetCursor;
 import com.razorpay.Order;
 import com.razorpay.RazorpayClient;
 import com.razorpay.RazorpayException;
 import com.razorpay.Utils;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.json.JSONObject;
 import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static com.bhavani.resumeforge.util.AppConstants.PREMIUM;
 
 @Service
+@Timed(value = "resumeforge.service", histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class PaymentService {
 
     private final AuthService authService;
     private final UserRepository userRepository;
+    private final UserSnapshotCache userSnapshotCache;
+    private final ProfileCache profileCache;
 
     private final PaymentRespository paymentRepository;
-    @Value("${razorpay.key.id}")
-    private String razorpayKeyId;
+    private final RazorpayClient razorpayClient;
+    private final OutboundGuard outboundGuard;
+    private final MeterRegistry meterRegistry;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectProvider<MongoTransactionManager> transactionManagerProvider;
+
     @Value("${razorpay.key.secret}")
     private String razorpayKeySecret;
 
+    @Value("${payment.order.validity-minutes:30}")
+    private long orderValidityMinutes;
+
+    @Value("${payment.order.wait-timeout-ms:15000}")
+    private long orderWaitTimeoutMs;
+
+    @Value("${payment.verify.transactional:false}")
+    private boolean transactionalVerify;
+
+    @Value("${payment.history.default-page-size:20}")
+    private int historyDefaultPageSize;
+
+    @Value("${payment.history.max-page-size:50}")
+    private int historyMaxPageSize;
+
+    // open-order key -> the order request currently resolving it in this instance
+    private final Map<String, CompletableFuture<Payment>> ordersInFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the user's open order for the plan if it is still within the validity window,
+     * otherwise creates one. Concurrent identical requests in this instance share a single
+     * Razorpay call; across instances the unique openOrderKey keeps one open order.
+     */
     public Payment createOrder(Object principal, String planType) throws RazorpayException {
         //Initial step
         AuthResponse authResponse = authService.getProfile(principal);
+        String openOrderKey = authResponse.getId() + ":" + planType.toLowerCase(Locale.ROOT);
+
+        //Step 1: join an identical request that is already in flight
+        CompletableFuture<Payment> mine = new CompletableFuture<>();
+        CompletableFuture<Payment> inFlight = ordersInFlight.putIfAbsent(openOrderKey, mine);
+        if (inFlight != null) {
+            meterRegistry.counter("resumeforge.payment.orders", "result", "joined").increment();
+            return await(inFlight);
+        }
 
-        //Step 1: Initialize the razorpay client
-        RazorpayClient razorpayClient = new RazorpayClient(razorpayKeyId, razorpayKeySecret);
+        //Step 2: otherwise resolve it ourselves and share the result
+        try {
+            Payment payment = findOrCreateOrder(authResponse.getId(), planType, openOrderKey);
+            mine.complete(payment);
+            return payment;
+        } catch (RazorpayException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            ordersInFlight.remove(openOrderKey, mine);
+        }
+    }
+
+    private Payment findOrCreateOrder(String userId, String planType, String openOrderKey) throws RazorpayException {
+        //Step 1: reuse the open order while it is still valid
+        Optional<Payment> open = paymentRepository.findByOpenOrderKey(openOrderKey);
+        if (open.isPresent()) {
+            Payment existing = open.get();
+            if (existing.getCreatedAt() != null
+                    && existing.getCreatedAt().isAfter(LocalDateTime.now().minusMinutes(orderValidityMinutes))) {
+                meterRegistry.counter("resumeforge.payment.orders", "result", "reused").increment();
+                return existing;
+            }
+            // too old to hand out again; it stays "created" for reconciliation
+            paymentRepository.releaseOpenOrderKey(existing.getId(), openOrderKey);
+        }
 
         //Step 2: prepare the JSON Object to pass the razorpay
         int amount = 99900; // Amount in paise
@@ -53,21 +142,52 @@ public class PaymentService {
         orderRequest.put("currency", currency);
         orderRequest.put("receipt", receipt);
         //Step 3: Call the razorpay API to create order
-        Order razorpayOrder = razorpayClient.orders.create(orderRequest);
+        Order razorpayOrder = outboundGuard.call("razorpay", () -> razorpayClient.orders.create(orderRequest));
         //Step 4: Save the order details to the db
         Payment newPayment = Payment.builder()
-                .userID(authResponse.getId())
+                .userID(userId)
                 .razorpayOrderId(razorpayOrder.get("id"))
                 .amount(amount)
                 .currency(currency)
                 .planType(planType)
                 .status("created")
                 .receipt(receipt)
+                .openOrderKey(openOrderKey)
                 .build();
-        //Step 5: return the result
-        return paymentRepository.save(newPayment);
+        try {
+            Payment saved = paymentRepository.save(newPayment);
+            meterRegistry.counter("resumeforge.payment.orders", "result", "created").increment();
+            return saved;
+        } catch (DuplicateKeyException e) {
+            // another instance opened the order first; ours is never shown to the user
+            log.info("Open order for {} was created concurrently, returning it", openOrderKey);
+            return paymentRepository.findByOpenOrderKey(openOrderKey).orElseThrow(() -> e);
+        }
+    }
+
+    private Payment await(CompletableFuture<Payment> inFlight) throws RazorpayException {
+        try {
+            return inFlight.get(orderWaitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Order creation is taking longer than expected");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Request interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RazorpayException razorpayException) {
+                throw razorpayException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Order creation failed", e.getCause());
+        }
     }
 
+    /**
+     * Marks the order paid and upgrades its user. Both writes are conditional, so two
+     * concurrent calls upgrade once and a retry after a partial failure finishes the job.
+     */
     public boolean verifyPayment(String razorpayOrderId, String razorpayPaymentId, String razorpaySignature) throws RazorpayException {
         try{
             JSONObject attributes = new JSONObject();
@@ -78,16 +198,16 @@ public class PaymentService {
             boolean isValidSignature = Utils.verifyPaymentSignature(attributes, razorpayKeySecret);
 
             if (isValidSignature) {
-                //update the payment status
-                Payment payment = paymentRepository.findByRazorpayOrderId(razorpayOrderId)
-                        .orElseThrow(() -> new RazorpayException("Payment not found"));
-                payment.setRazorpayPaymentId(razorpayPaymentId);
-                payment.setRazorPaySignature(razorpaySignature);
-                payment.setStatus("paid");
-                paymentRepository.save(payment);
-
-                //Upgrade the user subscrption
-                upgradeUserSubscription(payment.getUserID(), payment.getPlanType());
+                //update the payment status and upgrade the user, in one transaction when enabled
+                TransactionTemplate transactionTemplate = transactionTemplate();
+                Payment payment = Objects.isNull(transactionTemplate)
+                        ? markPaidAndUpgrade(razorpayOrderId, razorpayPaymentId, razorpaySignature)
+                        : transactionTemplate.execute(status -> markPaidAndUpgrade(razorpayOrderId, razorpayPaymentId, razorpaySignature));
+                if (Objects.isNull(payment)) {
+                    throw new RazorpayException("Payment not found");
+                }
+                userSnapshotCache.invalidate(payment.getUserID());
+                profileCache.evict(payment.getUserID());
                 return true;
             }
             return false;
@@ -97,12 +217,49 @@ public class PaymentService {
         }
     }
 
+    private Payment markPaidAndUpgrade(String razorpayOrderId, String razorpayPaymentId, String razorpaySignature) {
+        //Step 1: unpaid -> paid in one round trip; only one caller can win this
+        Query open = Query.query(Criteria.where("razorpayOrderId").is(razorpayOrderId).and("status").in(PaymentSettlementService.UNPAID));
+        open.fields().include("userID").include("planType").include("status");
+        Update paid = new Update()
+                .set("status", "paid")
+                .set("razorpayPaymentId", razorpayPaymentId)
+                .set("razorPaySignature", razorpaySignature)
+                .set("updatedAt", LocalDateTime.now())
+                .unset("openOrderKey");
+        Payment payment = mongoTemplate.findAndModify(open, paid,
+                FindAndModifyOptions.options().returnNew(true), Payment.class);
+
+        //Step 2: lost the race or a retry; a paid order still gets its upgrade checked
+        if (Objects.isNull(payment)) {
+            Query byOrder = Query.query(Criteria.where("razorpayOrderId").is(razorpayOrderId).and("status").is("paid"));
+            byOrder.fields().include("userID").include("planType").include("status");
+            payment = mongoTemplate.findOne(byOrder, Payment.class);
+            if (Objects.isNull(payment)) {
+                return null;
+            }
+            meterRegistry.counter("resumeforge.payment.verify", "result", "already_paid").increment();
+        } else {
+            meterRegistry.counter("resumeforge.payment.verify", "result", "paid").increment();
+        }
+
+        //Step 3: upgrade the user unless they are on the plan already
+        upgradeUserSubscription(payment.getUserID(), payment.getPlanType());
+        return payment;
+    }
+
     private void upgradeUserSubscription(String userID, String planType) {
-        User existingUser = userRepository.findById(userID)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        existingUser.setSubscriptionPlan(planType);
-        userRepository.save(existingUser);
-        log.info("User {} upgraded to {} plan" ,userID, planType);
+        if (userRepository.upgradeSubscriptionPlan(userID, planType, LocalDateTime.now()) > 0) {
+            log.info("User {} upgraded to {} plan" ,userID, planType);
+        }
+    }
+
+    private TransactionTemplate transactionTemplate() {
+        if (!transactionalVerify) {
+            return null;
+        }
+        MongoTransactionManager transactionManager = transactionManagerProvider.getIfAvailable();
+        return Objects.isNull(transactionManager) ? null : new TransactionTemplate(transactionManager);
     }
 
     public List<Payment> getUserPayments(Object principal) {
@@ -113,6 +270,28 @@ public class PaymentService {
         return paymentRepository.findByUserIDOrderByCreatedAtDesc(authResponse.getId());
     }
 
+    public CursorPage<PaymentSummary> getPaymentHistory(Object principal, String cursor, Integer limit, String status) {
+        //Step 1: get the current profile
+        AuthResponse authResponse = authService.getProfile(principal);
+        //Step 2: resolve the page size, position and filter
+        int pageSize = (limit == null || limit < 1) ? historyDefaultPageSize : Math.min(limit, historyMaxPageSize);
+        KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        String statusFilter = status == null || status.isBlank() ? null : status.toLowerCase(Locale.ROOT);
+        //Step 3: fetch one extra row to know whether another page exists
+        List<PaymentSummary> payments = paymentRepository.findSummaries(authResponse.getId(), statusFilter, after, pageSize + 1);
+        String nextCursor = null;
+        if (payments.size() > pageSize) {
+            payments = payments.subList(0, pageSize);
+            PaymentSummary last = payments.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        //Step 4: return response
+        return CursorPage.<PaymentSummary>builder()
+                .items(payments)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
     public Payment getPaymentDetails(String orderId) {
         //Step 1: Call the repository finder method
         return paymentRepository.findByRazorpayOrderId(orderId)
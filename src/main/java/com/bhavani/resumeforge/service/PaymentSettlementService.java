@@ -0,0 +1,107 @@
+package com.bhavani.resumeforge.service;
+
+import com.bhavani.resumeforge.document.Payment;
+import com.bhavani.resumeforge.document.User;
+import com.bhavani.resumeforge.security.UserSnapshotCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bulk payment state transitions shared by the webhook drain and the reconciliation job.
+ * Every write is conditional on the current status, so applying the same outcome twice,
+ * or racing the browser verify call, leaves the same end state.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentSettlementService {
+
+    // an order abandoned by reconciliation can still be paid late and is honoured
+    static final List<String> UNPAID = List.of("created", "abandoned");
+
+    private final MongoTemplate mongoTemplate;
+    private final UserSnapshotCache userSnapshotCache;
+    private final ProfileCache profileCache;
+
+    /**
+     * Marks the orders paid and upgrades their users. {@code paymentIdByOrder} maps a
+     * Razorpay order id to its payment id, which may be null when it is not known.
+     *
+     * @return the number of payments moved to paid
+     */
+    public int markPaid(Map<String, String> paymentIdByOrder) {
+        if (paymentIdByOrder.isEmpty()) {
+            return 0;
+        }
+
+        //Step 1: the payments still unpaid decide which users get upgraded
+        Query open = Query.query(Criteria.where("razorpayOrderId").in(paymentIdByOrder.keySet()).and("status").in(UNPAID));
+        open.fields().include("userID").include("planType").include("razorpayOrderId");
+        List<Payment> payments = mongoTemplate.find(open, Payment.class);
+        if (payments.isEmpty()) {
+            return 0;
+        }
+
+        //Step 2: unpaid -> paid, in one round trip
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations paymentOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Payment.class);
+        for (Payment payment : payments) {
+            Update paid = new Update()
+                    .set("status", "paid")
+                    .set("updatedAt", now)
+                    .unset("openOrderKey");
+            String paymentId = paymentIdByOrder.get(payment.getRazorpayOrderId());
+            if (Objects.nonNull(paymentId)) {
+                paid.set("razorpayPaymentId", paymentId);
+            }
+            paymentOps.updateOne(Query.query(Criteria.where("_id").is(payment.getId()).and("status").in(UNPAID)), paid);
+        }
+        int modified = paymentOps.execute().getModifiedCount();
+
+        //Step 3: upgrade the users, skipping the ones already on the plan
+        BulkOperations userOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        for (Payment payment : payments) {
+            Query query = Query.query(Criteria.where("_id").is(payment.getUserID())
+                    .and("subscriptionPlan").ne(payment.getPlanType()));
+            userOps.updateOne(query, new Update()
+                    .set("subscriptionPlan", payment.getPlanType())
+                    .set("updatedAt", now));
+        }
+        userOps.execute();
+        for (Payment payment : payments) {
+            userSnapshotCache.invalidate(payment.getUserID());
+            profileCache.evict(payment.getUserID());
+            log.info("User {} upgraded to {} plan for order {}", payment.getUserID(), payment.getPlanType(), payment.getRazorpayOrderId());
+        }
+        return modified;
+    }
+
+    /**
+     * Marks orders that were never paid as abandoned and releases their open-order keys.
+     *
+     * @return the number of payments moved to abandoned
+     */
+    public long markAbandoned(Collection<String> paymentIds) {
+        if (paymentIds.isEmpty()) {
+            return 0;
+        }
+        Query query = Query.query(Criteria.where("_id").in(paymentIds).and("status").is("created"));
+        Update abandoned = new Update()
+                .set("status", "abandoned")
+                .set("updatedAt", LocalDateTime.now())
+                .unset("openOrderKey");
+        return mongoTemplate.updateMulti(query, abandoned, Payment.class).getModifiedCount();
+    }
+}
@@ -0,0 +1,245 @@
+package com.bhavani.resumeforge.service;
+
+import com.bhavani.resumeforge.document.PaymentWebhookEvent;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.bhavani.resumeforge.document.PaymentWebhookEvent.APPLIED;
+import static com.bhavani.resumeforge.document.PaymentWebhookEvent.APPLYING;
+import static com.bhavani.resumeforge.document.PaymentWebhookEvent.PENDING;
+
+/**
+ * Razorpay webhook ingestion. {@link #accept} only checks the signature and records the
+ * event, so the provider gets its 2xx straight away; {@link #applyPending} later hands the
+ * referenced orders to {@link PaymentSettlementService} in batches. Each instance claims its
+ * batch under a lease, so instances drain different events; a batch whose instance died is
+ * picked up again once the lease runs out. A redelivered event, a browser verify racing the
+ * webhook or a batch applied twice leaves the same end state.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentWebhookService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    // the events that prove the order was paid; everything else is acknowledged and dropped
+    private static final Set<String> PAID_EVENTS = Set.of("payment.captured", "order.paid");
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final PaymentSettlementService paymentSettlementService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${razorpay.webhook.secret:}")
+    private String webhookSecret;
+
+    @Value("${payment.webhook.batch-size:100}")
+    private int batchSize;
+
+    @Value("${payment.webhook.lease-seconds:60}")
+    private long leaseSeconds;
+
+    // keyed once; each request clones it instead of looking up the provider and re-keying
+    private Mac keyedMac;
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Envelope(String event, Payload payload) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Payload(Wrapper payment, Wrapper order) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Wrapper(Entity entity) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Entity(String id, @JsonProperty("order_id") String orderId) {
+    }
+
+    @PostConstruct
+    public void init() throws GeneralSecurityException {
+        if (webhookSecret.isBlank()) {
+            log.warn("razorpay.webhook.secret is not set, the payment webhook will reject every call");
+            return;
+        }
+        keyedMac = Mac.getInstance(HMAC_ALGORITHM);
+        keyedMac.init(new SecretKeySpec(webhookSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+    }
+
+    /**
+     * Verifies and records one delivery. Returns once the event is stored (or known to be a duplicate).
+     */
+    public void accept(byte[] body, String signature, String eventId) {
+        //Step 1: the signature covers the raw body
+        if (!isValidSignature(body, signature)) {
+            meterRegistry.counter("resumeforge.payment.webhook", "result", "invalid_signature").increment();
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid webhook signature");
+        }
+
+        //Step 2: keep only the events that can mark an order paid
+        Envelope envelope;
+        try {
+            envelope = objectMapper.readValue(body, Envelope.class);
+        } catch (JacksonException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed webhook payload");
+        }
+        String orderId = orderId(envelope);
+        if (!PAID_EVENTS.contains(envelope.event()) || Objects.isNull(orderId)) {
+            meterRegistry.counter("resumeforge.payment.webhook", "result", "ignored").increment();
+            return;
+        }
+
+        //Step 3: record it; the unique event id drops redeliveries
+        PaymentWebhookEvent event = PaymentWebhookEvent.builder()
+                // the same body always carries the same signature, good enough when the header is missing
+                .eventId(Objects.isNull(eventId) || eventId.isBlank() ? signature : eventId)
+                .eventType(envelope.event())
+                .razorpayOrderId(orderId)
+                .razorpayPaymentId(paymentId(envelope))
+                .status(PENDING)
+                .receivedAt(LocalDateTime.now())
+                .build();
+        try {
+            mongoTemplate.insert(event);
+            meterRegistry.counter("resumeforge.payment.webhook", "result", "accepted").increment();
+        } catch (DuplicateKeyException e) {
+            meterRegistry.counter("resumeforge.payment.webhook", "result", "duplicate").increment();
+            log.info("Webhook event {} was already received, skipping", event.getEventId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${payment.webhook.poll-interval-ms:1000}")
+    public void applyPending() {
+        //Step 1: claim a batch of pending events, oldest first
+        String leaseToken = UUID.randomUUID().toString();
+        List<PaymentWebhookEvent> batch = claimBatch(leaseToken, LocalDateTime.now().plusSeconds(leaseSeconds));
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        //Step 2: one event per order is enough, later ones carry nothing new
+        Map<String, String> paymentIdByOrder = new HashMap<>();
+        batch.forEach(event -> paymentIdByOrder.putIfAbsent(event.getRazorpayOrderId(), event.getRazorpayPaymentId()));
+
+        //Step 3: created -> paid and the user upgrades, in bulk
+        int paid = paymentSettlementService.markPaid(paymentIdByOrder);
+        meterRegistry.counter("resumeforge.payment.webhook.applied").increment(paid);
+
+        //Step 4: mark the batch done, unless our lease ran out and another instance reclaimed it
+        Query claimed = Query.query(Criteria.where("leaseToken").is(leaseToken).and("status").is(APPLYING));
+        mongoTemplate.updateMulti(claimed, new Update()
+                .set("status", APPLIED)
+                .set("appliedAt", LocalDateTime.now())
+                .unset("lockedUntil")
+                .unset("leaseToken"), PaymentWebhookEvent.class);
+        log.info("Applied {} webhook events, {} payments moved to paid", batch.size(), paid);
+    }
+
+    /**
+     * Picks the ids of up to a batch of claimable events, claims them with one updateMulti that
+     * stamps our lease token, and reads back what we actually won. The claim repeats the status
+     * condition, so an event another instance claimed in between is simply not ours.
+     */
+    private List<PaymentWebhookEvent> claimBatch(String leaseToken, LocalDateTime leaseUntil) {
+        //Step 1: pending events first, then events whose instance died while holding the lease
+        LocalDateTime now = LocalDateTime.now();
+        Query pending = Query.query(Criteria.where("status").is(PENDING))
+                .with(Sort.by(Sort.Direction.ASC, "receivedAt"))
+                .limit(batchSize);
+        pending.fields().include("_id");
+        List<String> ids = new ArrayList<>(mongoTemplate.find(pending, PaymentWebhookEvent.class).stream()
+                .map(PaymentWebhookEvent::getId)
+                .toList());
+        if (ids.size() < batchSize) {
+            Query expired = Query.query(Criteria.where("status").is(APPLYING).and("lockedUntil").lt(now))
+                    .with(Sort.by(Sort.Direction.ASC, "lockedUntil"))
+                    .limit(batchSize - ids.size());
+            expired.fields().include("_id");
+            mongoTemplate.find(expired, PaymentWebhookEvent.class).forEach(event -> ids.add(event.getId()));
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        //Step 2: claim them in one write, only where nobody else got there first
+        Query claimable = Query.query(Criteria.where("_id").in(ids).orOperator(
+                Criteria.where("status").is(PENDING),
+                Criteria.where("status").is(APPLYING).and("lockedUntil").lt(now)));
+        long won = mongoTemplate.updateMulti(claimable, new Update()
+                .set("status", APPLYING)
+                .set("leaseToken", leaseToken)
+                .set("lockedUntil", leaseUntil), PaymentWebhookEvent.class).getModifiedCount();
+        if (won == 0) {
+            return List.of();
+        }
+
+        //Step 3: read back exactly the events this claim won
+        return mongoTemplate.find(Query.query(Criteria.where("leaseToken").is(leaseToken)), PaymentWebhookEvent.class);
+    }
+
+    private boolean isValidSignature(byte[] body, String signature) {
+        if (Objects.isNull(keyedMac) || Objects.isNull(signature)) {
+            return false;
+        }
+        Mac mac;
+        try {
+            mac = (Mac) keyedMac.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HMAC provider does not support cloning", e);
+        }
+        byte[] expected = HexFormat.of().formatHex(mac.doFinal(body)).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String orderId(Envelope envelope) {
+        if (Objects.isNull(envelope.payload())) {
+            return null;
+        }
+        Wrapper order = envelope.payload().order();
+        if (Objects.nonNull(order) && Objects.nonNull(order.entity()) && Objects.nonNull(order.entity().id())) {
+            return order.entity().id();
+        }
+        Wrapper payment = envelope.payload().payment();
+        return Objects.nonNull(payment) && Objects.nonNull(payment.entity()) ? payment.entity().orderId() : null;
+    }
+
+    private static String paymentId(Envelope envelope) {
+        Wrapper payment = Objects.isNull(envelope.payload()) ? null : envelope.payload().payment();
+        return Objects.nonNull(payment) && Objects.nonNull(payment.entity()) ? payment.entity().id() : null;
+    }
+}
@@ -0,0 +1,136 @@
+package com.bhavani.resumeforge.service;
+
+import com.bhavani.resumeforge.document.User;
+import com.bhavani.resumeforge.dto.AuthResponse;
+import com.bhavani.resumeforge.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves the current user's profile behind {@link AuthService#getProfile(Object)}.
+ * Lookups go through a per-request memo first, then a bounded TTL cache shared across
+ * requests, and only then to Mongo. User writes must call {@link #evict(String)}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProfileCache {
+
+    private static final String REQUEST_MEMO = ProfileCache.class.getName() + ".memo";
+
+    private final UserRepository userRepository;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auth.profile-cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${auth.profile-cache.max-size:10000}")
+    private int maxSize;
+
+    // size-bounded and expiring; a full cache evicts one entry instead of scanning
+    private Cache<String, AuthResponse> profiles;
+
+    @PostConstruct
+    public void init() {
+        profiles = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public AuthResponse resolve(String userId) {
+        //Step 1: same request already resolved this user
+        Map<String, AuthResponse> memo = requestMemo();
+        if (memo != null && memo.containsKey(userId)) {
+            record("request", "hit");
+            return memo.get(userId);
+        }
+
+        //Step 2: shared cache across requests
+        AuthResponse profile = profiles.getIfPresent(userId);
+        if (profile != null) {
+            record("shared", "hit");
+        } else {
+            //Step 3: load from the db
+            record("shared", "miss");
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            profile = toProfile(user);
+            profiles.put(userId, profile);
+        }
+
+        if (memo != null) {
+            memo.put(userId, profile);
+        }
+        return profile;
+    }
+
+    /**
+     * Seeds both levels with a user that was just read from the db for this request.
+     */
+    public void remember(User user) {
+        AuthResponse profile = toProfile(user);
+        profiles.put(user.getId(), profile);
+        Map<String, AuthResponse> memo = requestMemo();
+        if (memo != null) {
+            memo.put(user.getId(), profile);
+        }
+    }
+
+    public void evict(String userId) {
+        if (userId == null) {
+            return;
+        }
+        profiles.invalidate(userId);
+        Map<String, AuthResponse> memo = requestMemo();
+        if (memo != null) {
+            memo.remove(userId);
+        }
+        log.debug("Profile cache evicted for {}", userId);
+    }
+
+    static AuthResponse toProfile(User user) {
+        return AuthResponse.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .profileImageUrl(user.getProfileImageUrl())
+                .emailVerified(user.isEmailVerified())
+                .subscriptionPlan(user.getSubscriptionPlan())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, AuthResponse> requestMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<String, AuthResponse> memo =
+                (Map<String, AuthResponse>) attributes.getAttribute(REQUEST_MEMO, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>();
+            attributes.setAttribute(REQUEST_MEMO, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+
+    private void record(String level, String result) {
+        meterRegistry.counter("resumeforge.profile.cache", "level", level, "result", result).increment();
+    }
+}
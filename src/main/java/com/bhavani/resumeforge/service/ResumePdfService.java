@@ -0,0 +1,175 @@
+package com.bhavani.resumeforge.service;
+
+import com.bhavani.resumeforge.document.Resume;
+import com.bhavani.resumeforge.pdf.ResumePdfRenderer;
+import com.bhavani.resumeforge.pdf.ResumeTemplateLayout;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.awt.Color;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.bhavani.resumeforge.pdf.ResumeTemplateLayout.HeaderStyle.*;
+import static com.bhavani.resumeforge.pdf.ResumeTemplateLayout.Section.*;
+
+/**
+ * Renders resumes to PDF on the server. Each template is compiled once into a
+ * {@link ResumeTemplateLayout} and reused; renders run on a small bounded pool so a
+ * burst of downloads cannot take every request thread, and overflow gets a 503.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResumePdfService {
+
+    public static final String DEFAULT_TEMPLATE = "01";
+
+    private final ResumePdfRenderer renderer;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, ResumeTemplateLayout> compiledTemplates = new ConcurrentHashMap<>();
+
+    @Value("${resume.pdf.render-threads:2}")
+    private int threads;
+
+    @Value("${resume.pdf.queue-capacity:32}")
+    private int queueCapacity;
+
+    @Value("${resume.pdf.timeout-ms:15000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "pdf-render-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        meterRegistry.gauge("resumeforge.pdf.render.queue", executor, pool -> pool.getQueue().size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    /**
+     * Renders the resume on the pool and waits for the finished bytes. The caller writes
+     * them, so a render that outlives its timeout can never touch a response already given up on.
+     */
+    public byte[] renderToBytes(Resume resume) {
+        //Step 1: resolve the compiled template and accent colour
+        String templateId = templateId(resume);
+        ResumeTemplateLayout layout = compiledTemplates.computeIfAbsent(templateId, ResumePdfService::compile);
+        Color accent = accent(resume, layout);
+
+        //Step 2: queue the render on the bounded pool
+        long startNanos = System.nanoTime();
+        Future<byte[]> future;
+        try {
+            future = executor.submit(() -> {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(32 * 1024);
+                renderer.render(resume, layout, accent, buffer);
+                renderTimer(templateId).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                return buffer.toByteArray();
+            });
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("resumeforge.pdf.render.rejected").increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many PDF requests, please try again shortly");
+        }
+
+        //Step 3: wait for it
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "PDF rendering timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Request interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("PDF rendering failed", e.getCause());
+        }
+    }
+
+    public static String fileName(Resume resume) {
+        String title = resume.getTitle() == null ? "" : resume.getTitle().replaceAll("[^A-Za-z0-9._-]+", "_");
+        return (title.isBlank() ? "resume" : title) + ".pdf";
+    }
+
+    private static String templateId(Resume resume) {
+        String theme = resume.getTemplate() != null ? resume.getTemplate().getTheme() : null;
+        return theme != null && List.of("01", "02", "03").contains(theme) ? theme : DEFAULT_TEMPLATE;
+    }
+
+    private static Color accent(Resume resume, ResumeTemplateLayout layout) {
+        Resume.Template template = resume.getTemplate();
+        if (template == null || template.getColorPalette() == null || template.getColorPalette().isEmpty()) {
+            return layout.accent();
+        }
+        try {
+            return Color.decode(template.getColorPalette().get(0).trim());
+        } catch (RuntimeException e) {
+            return layout.accent();
+        }
+    }
+
+    private static ResumeTemplateLayout compile(String templateId) {
+        log.info("Compiling PDF template {}", templateId);
+        return switch (templateId) {
+            case "02" -> new ResumeTemplateLayout(templateId,
+                    Standard14Fonts.FontName.HELVETICA,
+                    Standard14Fonts.FontName.HELVETICA_BOLD,
+                    24, 11, 10, 14, 42, new Color(0x0f, 0x76, 0x6e), BAND,
+                    List.of(SUMMARY, SKILLS, EXPERIENCE, PROJECTS, EDUCATION, CERTIFICATIONS, LANGUAGES, INTERESTS));
+            case "03" -> new ResumeTemplateLayout(templateId,
+                    Standard14Fonts.FontName.TIMES_ROMAN,
+                    Standard14Fonts.FontName.TIMES_BOLD,
+                    26, 12, 11, 15, 54, new Color(0x37, 0x41, 0x51), CENTERED,
+                    List.of(SUMMARY, EDUCATION, EXPERIENCE, PROJECTS, SKILLS, CERTIFICATIONS, LANGUAGES, INTERESTS));
+            default -> new ResumeTemplateLayout(templateId,
+                    Standard14Fonts.FontName.HELVETICA,
+                    Standard14Fonts.FontName.HELVETICA_BOLD,
+                    22, 12, 10, 14, 48, new Color(0x25, 0x63, 0xeb), UNDERLINE,
+                    List.of(SUMMARY, EXPERIENCE, PROJECTS, EDUCATION, SKILLS, CERTIFICATIONS, LANGUAGES, INTERESTS));
+        };
+    }
+
+    private Timer renderTimer(String templateId) {
+        return Timer.builder("resumeforge.pdf.render")
+                .tag("template", templateId)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,199 @@
+package com.bhavani.resumeforge.service;
+
+import com.bhavani.resumeforge.document.Resume;
+import com.bhavani.resumeforge.dto.AuthResponse;
+import com.bhavani.resumeforge.dto.CursorPage;
+import com.bhavani.resumeforge.dto.ResumeSearchHit;
+import com.bhavani.resumeforge.repository.ResumeRepository;
+import com.bhavani.resumeforge.util.ResumeSearchKeywords;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Prefix search over a user's resumes. Every query word must prefix one of the resume's
+ * keywords (an index range scan on user_keywords_idx); the candidates come back with only
+ * the card and searchable fields and are ranked by where the words matched (the summary
+ * only adds to the rank of a resume its keywords already found). At most
+ * {@code resume.search.max-candidates} matches are ranked: the most recently updated ones.
+ */
+@Service
+@Timed(value = "resumeforge.service", histogram = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ResumeSearchService {
+
+    private static final int TITLE_WEIGHT = 5;
+    private static final int DESIGNATION_WEIGHT = 4;
+    private static final int SKILL_WEIGHT = 3;
+    private static final int COMPANY_WEIGHT = 2;
+    private static final int PROJECT_WEIGHT = 2;
+    private static final int SUMMARY_WEIGHT = 1;
+
+    private static final int MAX_QUERY_TERMS = 8;
+
+    private static final int MAX_REFRESH_ATTEMPTS = 5;
+
+    private final ResumeRepository resumeRepository;
+    private final AuthService authService;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${resume.search.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${resume.search.max-page-size:50}")
+    private int maxPageSize;
+
+    @Value("${resume.search.max-candidates:500}")
+    private int maxCandidates;
+
+    private record Ranked(Resume resume, int score) {
+    }
+
+    public CursorPage<ResumeSearchHit> search(String text, String cursor, Integer limit, Object principal) {
+        //Step 1: get the current profile and the query words
+        AuthResponse response = authService.getProfile(principal);
+        List<String> terms = ResumeSearchKeywords.tokenize(text).stream().limit(MAX_QUERY_TERMS).toList();
+        if (terms.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query must contain a word of at least two characters");
+        }
+
+        //Step 2: resolve the page size and position; the cursor is the offset into the ranking
+        int pageSize = (limit == null || limit < 1) ? defaultPageSize : Math.min(limit, maxPageSize);
+        int offset = decodeOffset(cursor);
+
+        //Step 3: fetch the candidates through the keyword index and rank them
+        List<Ranked> ranked = resumeRepository.findSearchCandidates(response.getId(), terms, maxCandidates).stream()
+                .map(resume -> new Ranked(resume, score(resume, terms)))
+                .sorted(Comparator.comparingInt(Ranked::score).reversed()
+                        .thenComparing(candidate -> candidate.resume().getUpdatedAt(), Comparator.nullsLast(Comparator.reverseOrder())))
+                .toList();
+
+        //Step 4: cut the requested page
+        List<ResumeSearchHit> hits = ranked.stream()
+                .skip(offset)
+                .limit(pageSize)
+                .map(ResumeSearchService::toHit)
+                .toList();
+        String nextCursor = offset + pageSize < ranked.size() ? String.valueOf(offset + pageSize) : null;
+        return CursorPage.<ResumeSearchHit>builder()
+                .items(hits)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Rebuilds the keywords of one resume after a patch that wrote one of their fields.
+     */
+    public void refresh(String userId, String resumeId) {
+        for (int attempt = 0; attempt < MAX_REFRESH_ATTEMPTS; attempt++) {
+            Optional<Resume> resume = resumeRepository.findSearchFields(userId, resumeId);
+            if (resume.isEmpty()) {
+                return;
+            }
+            // any concurrent patch moves the revision on, even one that leaves the searchable
+            // sections alone and never refreshes; read again rather than leave the keywords stale
+            if (resumeRepository.setSearchKeywords(resumeId, resume.get().getRevision(), ResumeSearchKeywords.of(resume.get()))) {
+                return;
+            }
+        }
+        log.warn("Search keywords of resume {} not refreshed after {} concurrent updates", resumeId, MAX_REFRESH_ATTEMPTS);
+    }
+
+    /**
+     * Resumes saved before search existed have no keywords; derive them once at startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillKeywords() {
+        Query missing = Query.query(Criteria.where("searchKeywords").exists(false));
+        missing.fields().include("title", "profileInfo.designation", "skills.name",
+                "workExperiences.company", "projects.title", "revision");
+        int updated = 0;
+        try (Stream<Resume> resumes = mongoTemplate.stream(missing, Resume.class)) {
+            for (Resume resume : (Iterable<Resume>) resumes::iterator) {
+                if (resumeRepository.setSearchKeywords(resume.getId(), resume.getRevision(), ResumeSearchKeywords.of(resume))) {
+                    updated++;
+                }
+            }
+        }
+        if (updated > 0) {
+            log.info("Derived search keywords for {} existing resumes", updated);
+        }
+    }
+
+    private static int score(Resume resume, List<String> terms) {
+        Resume.ProfileInfo profileInfo = resume.getProfileInfo();
+        List<List<String>> skills = Objects.isNull(resume.getSkills()) ? List.of()
+                : resume.getSkills().stream().filter(Objects::nonNull).map(skill -> ResumeSearchKeywords.tokenize(skill.getName())).toList();
+        List<List<String>> companies = Objects.isNull(resume.getWorkExperiences()) ? List.of()
+                : resume.getWorkExperiences().stream().filter(Objects::nonNull).map(work -> ResumeSearchKeywords.tokenize(work.getCompany())).toList();
+        List<List<String>> projects = Objects.isNull(resume.getProjects()) ? List.of()
+                : resume.getProjects().stream().filter(Objects::nonNull).map(project -> ResumeSearchKeywords.tokenize(project.getTitle())).toList();
+        List<String> title = ResumeSearchKeywords.tokenize(resume.getTitle());
+        List<String> designation = Objects.isNull(profileInfo) ? List.of() : ResumeSearchKeywords.tokenize(profileInfo.getDesignation());
+        List<String> summary = Objects.isNull(profileInfo) ? List.of() : ResumeSearchKeywords.tokenize(profileInfo.getSummary());
+
+        int score = 0;
+        for (String term : terms) {
+            score += TITLE_WEIGHT * match(title, term)
+                    + DESIGNATION_WEIGHT * match(designation, term)
+                    + SKILL_WEIGHT * skills.stream().mapToInt(tokens -> match(tokens, term)).max().orElse(0)
+                    + COMPANY_WEIGHT * companies.stream().mapToInt(tokens -> match(tokens, term)).max().orElse(0)
+                    + PROJECT_WEIGHT * projects.stream().mapToInt(tokens -> match(tokens, term)).max().orElse(0)
+                    + SUMMARY_WEIGHT * match(summary, term);
+        }
+        return score;
+    }
+
+    // a whole word counts double a prefix
+    private static int match(List<String> tokens, String term) {
+        int best = 0;
+        for (String token : tokens) {
+            if (token.equals(term)) {
+                return 2;
+            }
+            if (token.startsWith(term)) {
+                best = 1;
+            }
+        }
+        return best;
+    }
+
+    private static int decodeOffset(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(cursor));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    private static ResumeSearchHit toHit(Ranked ranked) {
+        Resume resume = ranked.resume();
+        return ResumeSearchHit.builder()
+                .id(resume.getId())
+                .title(resume.getTitle())
+                .thumbnailLink(resume.getThumbnailLink())
+                .template(resume.getTemplate())
+                .updatedAt(resume.getUpdatedAt())
+                .score(ranked.score())
+                .build();
+    }
+}
@@ -3,23 +3,49 @@ package com.bhavani.resumeforge.service;
 import com.bhavani.resumeforge.document.Resume;
 import com.bhavani.resumeforge.dto.AuthResponse;
 import com.bhavani.resumeforge.dto.CreateResumeRequest;
+import com.bhavani.resumeforge.dto.CursorPage;
+import com.bhavani.resumeforge.dto.ResumePatchOperation;
+import com.bhavani.resumeforge.dto.ResumeSummary;
 import com.bhavani.resumeforge.repository.ResumeRepository;
+import com.bhavani.resumeforge.util.KeysetCursor;
+import com.bhavani.resumeforge.util.ResumePatchUpdates;
+import com.bhavani.resumeforge.util.ResumeSearchKeywords;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.ObjectMapper;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 @Service
+@Timed(value = "resumeforge.service", histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class ResumeService {
 
     private final ResumeRepository resumeRepository;
     private final AuthService authService;
+    private final ImageAssetService imageAssetService;
+    private final ResumeSearchService resumeSearchService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${resume.list.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${resume.list.max-page-size:50}")
+    private int maxPageSize;
 
     public Resume createResume(CreateResumeRequest request, Object principalObject) {
         //Step 1: Create the Resume object
@@ -34,6 +60,8 @@ public class ResumeService {
 
         //Step 4: set default data for resume
         setDefaultResumeData(newResume);
+        newResume.setRevision(0L);
+        newResume.setSearchKeywords(ResumeSearchKeywords.of(newResume));
 
         //Step 5: save the resume data
         return resumeRepository.save(newResume);
@@ -60,6 +88,27 @@ public class ResumeService {
         return resumes;
     }
 
+    public CursorPage<ResumeSummary> getResumeSummaries(Object principal, String cursor, Integer limit) {
+        //Step 1: Get the current profile
+        AuthResponse response = authService.getProfile(principal);
+        //Step 2: resolve the page size and position
+        int pageSize = (limit == null || limit < 1) ? defaultPageSize : Math.min(limit, maxPageSize);
+        KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+        //Step 3: fetch one extra card to know whether another page exists
+        List<ResumeSummary> summaries = resumeRepository.findSummaries(response.getId(), after, pageSize + 1);
+        String nextCursor = null;
+        if (summaries.size() > pageSize) {
+            summaries = summaries.subList(0, pageSize);
+            ResumeSummary last = summaries.get(pageSize - 1);
+            nextCursor = new KeysetCursor(last.getUpdatedAt(), last.getId()).encode();
+        }
+        //Step 4: return response
+        return CursorPage.<ResumeSummary>builder()
+                .items(summaries)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
     public Resume getResumeById(String resumeId, Object principal) {
         //Step 1: get the current profile
         AuthResponse response = authService.getProfile(principal);
@@ -70,31 +119,111 @@ public class ResumeService {
         return existingResume;
     }
 
-    public Resume updateResume(String resumeId, Resume updatedData, Object principal) {
+    public long getResumeRevision(String resumeId, Object principal) {
         //Step 1: get the current profile
         AuthResponse response = authService.getProfile(principal);
-        //Step 2: call the repository finder method
-        Resume existingResume = resumeRepository.findByUserIdAndId(response.getId(), resumeId)
+        //Step 2: read only the revision
+        return resumeRepository.findRevision(response.getId(), resumeId)
                 .orElseThrow(() -> new RuntimeException("Resume not found"));
+    }
 
-        //Step 3: update the new data
-        existingResume.setTitle(updatedData.getTitle());
-        existingResume.setThumbnailLink(updatedData.getThumbnailLink());
-        existingResume.setTemplate(updatedData.getTemplate());
-        existingResume.setProfileInfo(updatedData.getProfileInfo());
-        existingResume.setContactInfo(updatedData.getContactInfo());
-        existingResume.setWorkExperiences(updatedData.getWorkExperiences());
-        existingResume.setEducations(updatedData.getEducations());
-        existingResume.setSkills(updatedData.getSkills());
-        existingResume.setProjects(updatedData.getProjects());
-        existingResume.setCertifications(updatedData.getCertifications());
-        existingResume.setLanguages(updatedData.getLanguages());
-        existingResume.setInterests(updatedData.getInterests());
+    public Resume updateResume(String resumeId, Resume updatedData, Long expectedRevision, Object principal) {
+        //Step 1: get the current profile
+        AuthResponse response = authService.getProfile(principal);
+
+        //Step 2: keep the image links this write may replace
+        Resume previousLinks = resumeRepository.findImageLinks(response.getId(), resumeId).orElse(null);
+
+        //Step 3: set the new data in a single conditional write
+        Update update = new Update()
+                .set("title", updatedData.getTitle())
+                .set("thumbnailLink", updatedData.getThumbnailLink())
+                .set("template", updatedData.getTemplate())
+                .set("profileInfo", updatedData.getProfileInfo())
+                .set("contactInfo", updatedData.getContactInfo())
+                .set("workExperiences", updatedData.getWorkExperiences())
+                .set("educations", updatedData.getEducations())
+                .set("skills", updatedData.getSkills())
+                .set("projects", updatedData.getProjects())
+                .set("certifications", updatedData.getCertifications())
+                .set("languages", updatedData.getLanguages())
+                .set("interests", updatedData.getInterests())
+                .set("searchKeywords", ResumeSearchKeywords.of(updatedData))
+                .set("updatedAt", LocalDateTime.now());
 
         //Step 4: update the details into db
-        resumeRepository.save(existingResume);
-        //Step 5: return the result
-        return existingResume;
+        Resume updated = applyUpdate(response.getId(), resumeId, expectedRevision, List.of(), update, true);
+
+        //Step 5: drop the references held by the replaced images and return the result
+        releaseReplacedImages(previousLinks, updated);
+        return updated;
+    }
+
+    public Resume patchResume(String resumeId, List<ResumePatchOperation> operations, Long expectedRevision, Object principal) {
+        //Step 1: get the current profile
+        AuthResponse response = authService.getProfile(principal);
+        //Step 2: translate the operations into one targeted update; only image changes need a prior read
+        ResumePatchUpdates.Patch patch = ResumePatchUpdates.toUpdate(operations, objectMapper);
+        Update update = patch.update().set("updatedAt", LocalDateTime.now());
+        boolean imagesTouched = touchesImages(operations);
+        Resume previousLinks = imagesTouched ? resumeRepository.findImageLinks(response.getId(), resumeId).orElse(null) : null;
+        //Step 3: apply it, reading back only the new revision
+        Resume updated = applyUpdate(response.getId(), resumeId, expectedRevision, patch.requiredPaths(), update, false);
+        //Step 4: drop the references held by the replaced images
+        if (imagesTouched) {
+            releaseReplacedImages(previousLinks, resumeRepository.findImageLinks(response.getId(), resumeId).orElse(null));
+        }
+        //Step 5: rebuild the keywords only when the patch wrote one of their fields
+        if (ResumeSearchKeywords.affects(operations)) {
+            resumeSearchService.refresh(response.getId(), resumeId);
+        }
+        return updated;
+    }
+
+    private Resume applyUpdate(String userId, String resumeId, Long expectedRevision, Collection<String> requiredPaths,
+                               Update update, boolean returnFullDocument) {
+        Resume updated = resumeRepository.updateResume(userId, resumeId, expectedRevision, requiredPaths, update, returnFullDocument);
+        if (updated != null) {
+            return updated;
+        }
+        // nothing matched: the resume is gone, someone else saved first or an indexed item does not exist
+        Optional<Long> revision = resumeRepository.findRevision(userId, resumeId);
+        if (revision.isEmpty()) {
+            throw new RuntimeException("Resume not found");
+        }
+        if (expectedRevision != null && !expectedRevision.equals(revision.get())) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Resume was modified by another request");
+        }
+        if (!requiredPaths.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "List index out of range");
+        }
+        throw new RuntimeException("Resume not found");
+    }
+
+    private static boolean touchesImages(List<ResumePatchOperation> operations) {
+        return operations.stream()
+                .map(ResumePatchOperation::getPath)
+                .anyMatch(path -> "thumbnailLink".equals(path)
+                        || "profileInfo".equals(path)
+                        || "profileInfo.profilePreviewUrl".equals(path));
+    }
+
+    private void releaseReplacedImages(Resume before, Resume after) {
+        if (before == null || after == null) {
+            return;
+        }
+        releaseIfReplaced(before.getThumbnailLink(), after.getThumbnailLink());
+        releaseIfReplaced(profilePreviewUrl(before), profilePreviewUrl(after));
+    }
+
+    private void releaseIfReplaced(String previous, String current) {
+        if (!Objects.equals(previous, current)) {
+            imageAssetService.release(previous);
+        }
+    }
+
+    private static String profilePreviewUrl(Resume resume) {
+        return resume.getProfileInfo() != null ? resume.getProfileInfo().getProfilePreviewUrl() : null;
     }
 
     public void deleteResume(String resumeId, Object principal) {
@@ -104,5 +233,10 @@ public class ResumeService {
         Resume existingResume = resumeRepository.findByUserIdAndId(response.getId(), resumeId)
                 .orElseThrow(() -> new RuntimeException("Resume not found"));
         resumeRepository.delete(existingResume);
+        //Step 3: release the images it referenced
+        imageAssetService.release(existingResume.getThumbnailLink());
+        if (existingResume.getProfileInfo() != null) {
+            imageAssetService.release(existingResume.getProfileInfo().getProfilePreviewUrl());
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.bhavani.resumeforge.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.bhavani.resumeforge.util.AppConstants.PREMIUM;
+
+/**
+ * Template metadata loaded from {@code templates.catalog.location}. Only two answers
+ * exist (basic and premium), so both are serialized once per catalog version and served
+ * as bytes. A catalog on the file system is re-read when it changes; a broken edit keeps
+ * the previous version.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TemplateCatalog {
+
+    public static final String BASIC = "basic";
+
+    private final ResourceLoader resourceLoader;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${templates.catalog.location:classpath:template-catalog.json}")
+    private String location;
+
+    private volatile Snapshot snapshot;
+
+    private volatile long loadedModified = -1;
+
+    public record TemplateDefinition(String id, String name, String tier, String previewUrl) {
+    }
+
+    record CatalogFile(List<TemplateDefinition> templates) {
+    }
+
+    /**
+     * A pre-serialized entitlement response and its ETag.
+     */
+    public record PlanResponse(byte[] body, String eTag) {
+    }
+
+    private record Snapshot(List<TemplateDefinition> templates, PlanResponse basic, PlanResponse premium) {
+    }
+
+    @PostConstruct
+    public void load() throws IOException {
+        Resource resource = resourceLoader.getResource(location);
+        snapshot = compile(read(resource));
+        loadedModified = lastModified(resource);
+        log.info("Loaded {} templates from {}", snapshot.templates().size(), location);
+    }
+
+    @Scheduled(fixedDelayString = "${templates.catalog.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        Resource resource = resourceLoader.getResource(location);
+        long modified = lastModified(resource);
+        // classpath resources inside the jar cannot change, only files are watched
+        if (!resource.isFile() || modified == loadedModified) {
+            return;
+        }
+        try {
+            snapshot = compile(read(resource));
+            loadedModified = modified;
+            log.info("Reloaded {} templates from {}", snapshot.templates().size(), location);
+        } catch (IOException | RuntimeException e) {
+            log.error("Template catalog {} could not be reloaded, keeping the previous version: {}", location, e.getMessage());
+        }
+    }
+
+    public PlanResponse forPlan(String subscriptionPlan) {
+        Snapshot current = snapshot;
+        return PREMIUM.equalsIgnoreCase(subscriptionPlan) ? current.premium() : current.basic();
+    }
+
+    public List<TemplateDefinition> templates() {
+        return snapshot.templates();
+    }
+
+    private CatalogFile read(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            CatalogFile catalog = objectMapper.readValue(in, CatalogFile.class);
+            if (catalog.templates() == null || catalog.templates().isEmpty()) {
+                throw new IllegalStateException("Template catalog has no templates");
+            }
+            return catalog;
+        }
+    }
+
+    private Snapshot compile(CatalogFile catalog) {
+        List<TemplateDefinition> templates = List.copyOf(catalog.templates());
+        return new Snapshot(templates, render(templates, false), render(templates, true));
+    }
+
+    private PlanResponse render(List<TemplateDefinition> templates, boolean isPremium) {
+        List<String> allTemplates = templates.stream().map(TemplateDefinition::id).toList();
+        List<String> availableTemplates = templates.stream()
+                .filter(template -> isPremium || !PREMIUM.equalsIgnoreCase(template.tier()))
+                .map(TemplateDefinition::id)
+                .toList();
+
+        // same shape the picker has always received, plus the metadata
+        Map<String, Object> restrictions = new LinkedHashMap<>();
+        restrictions.put("availableTemplates", availableTemplates);
+        restrictions.put("allTemplates", allTemplates);
+        restrictions.put("subscriptionPlan", isPremium ? PREMIUM : BASIC);
+        restrictions.put("isPremium", isPremium);
+        restrictions.put("templates", templates);
+
+        byte[] body = objectMapper.writeValueAsBytes(restrictions);
+        return new PlanResponse(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
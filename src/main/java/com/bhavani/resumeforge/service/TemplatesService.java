@@ -1,47 +1,30 @@
 package com.bhavani.resumeforge.service;
 
-import com.bhavani.resumeforge.dto.AuthResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
-import static com.bhavani.resumeforge.util.AppConstants.PREMIUM;
+import static com.bhavani.resumeforge.util.AppConstants.PLAN_AUTHORITY_PREFIX;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TemplatesService {
 
-    private final AuthService authService;
-
-    public Map<String, Object> getTemplates(Object principal) {
-
-        //Step 1: get the current profile
-        AuthResponse authResponse = authService.getProfile(principal);
-
-        //step 2: get the available templates based on subscription
-        List<String> availableTemplates;
-
-        Boolean isPremium = PREMIUM.equalsIgnoreCase(authResponse.getSubscriptionPlan());
+    private final TemplateCatalog templateCatalog;
 
-        if(isPremium) {
-            availableTemplates = List.of("01", "02", "03");
-        }else {
-            availableTemplates = List.of("01");
-        }
-        //Step 3: add the data into map
-        Map<String, Object> restrictions = new HashMap<>();
-        restrictions.put("availableTemplates", availableTemplates);
-        restrictions.put("allTemplates", List.of("01", "02", "03"));
-        restrictions.put("subscriptionPlan", authResponse.getSubscriptionPlan());
-        restrictions.put("isPremium", isPremium);
+    public TemplateCatalog.PlanResponse getTemplates(Authentication authentication) {
+        //Step 1: read the plan the authentication filter already resolved, no profile lookup
+        String subscriptionPlan = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority != null && authority.startsWith(PLAN_AUTHORITY_PREFIX))
+                .map(authority -> authority.substring(PLAN_AUTHORITY_PREFIX.length()))
+                .findFirst()
+                .orElse(TemplateCatalog.BASIC);
 
-        //Step 4: return the result
-        return restrictions;
+        //Step 2: return the precomputed response for that plan
+        return templateCatalog.forPlan(subscriptionPlan);
     }
-}
\ No newline at end of file
+}
@@ -9,8 +9,14 @@ public class AppConstants {
     public static final String LOGIN = "/login";
     public static final String RESEND_VERIFICATION = "/resend-verification";
     public static final String PROFILE = "/profile";
+    public static final String CHANGE_PASSWORD = "/change-password";
+    public static final String LOGOUT_ALL = "/logout-all";
     public static final String RESUMES = "/api/resumes";
     public static final String ID = "/{id}";
+    public static final String SUMMARY = "/summary";
+    public static final String SEARCH = "/search";
     public static final String UPLOAD_IMAGES = "/{id}/upload-images";
+    public static final String PDF = "/{id}/pdf";
     public static final String PREMIUM = "premium";
+    public static final String PLAN_AUTHORITY_PREFIX = "PLAN_";
 }
@@ -0,0 +1,30 @@
+package com.bhavani.resumeforge.util;
+
+/**
+ * Conditional request helpers shared by the controllers that serve ETags.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Whether an If-None-Match header matches the current entity tag. The header may list
+     * several tags or "*", and If-None-Match uses weak comparison, so W/ prefixes are ignored.
+     */
+    public static boolean matchesAny(String ifNoneMatch, String current) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
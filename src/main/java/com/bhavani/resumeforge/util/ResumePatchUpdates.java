@@ -0,0 +1,174 @@
+package com.bhavani.resumeforge.util;
+
+import com.bhavani.resumeforge.document.Resume;
+import com.bhavani.resumeforge.dto.ResumePatchOperation;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Translates resume PATCH operations into a single Mongo update ($set / $push / $pull),
+ * so a changed bullet is written without reading or rewriting the whole document.
+ * Paths are checked against the {@link Resume} model and values converted to its types,
+ * so a patch can only store what a full PUT could.
+ */
+public final class ResumePatchUpdates {
+
+    /**
+     * @param requiredPaths list items the update addresses by index; the write must only
+     *                      match while they exist, or Mongo would pad the list with nulls
+     */
+    public record Patch(Update update, Set<String> requiredPaths) {
+    }
+
+    // section, optional [index], optional .field
+    private static final Pattern PATH = Pattern.compile("^([A-Za-z]+)(?:\\[(\\d+)])?(?:\\.([A-Za-z]+))?$");
+
+    private static final Set<String> OBJECT_SECTIONS = Set.of(
+            "title", "thumbnailLink", "template", "profileInfo", "contactInfo");
+
+    private static final Set<String> LIST_SECTIONS = Set.of(
+            "workExperiences", "educations", "skills", "projects", "certifications", "languages", "interests");
+
+    private ResumePatchUpdates() {
+    }
+
+    public static Patch toUpdate(List<ResumePatchOperation> operations, ObjectMapper objectMapper) {
+        if (operations == null || operations.isEmpty()) {
+            throw badRequest("At least one patch operation is required");
+        }
+
+        Update update = new Update();
+        Set<String> touchedPaths = new HashSet<>();
+        Set<String> requiredPaths = new HashSet<>();
+        Map<String, List<Object>> pushes = new LinkedHashMap<>();
+
+        for (ResumePatchOperation operation : operations) {
+            Matcher matcher = PATH.matcher(operation.getPath() == null ? "" : operation.getPath());
+            if (!matcher.matches()) {
+                throw badRequest("Invalid path: " + operation.getPath());
+            }
+            String section = matcher.group(1);
+            String index = matcher.group(2);
+            String field = matcher.group(3);
+            boolean listSection = LIST_SECTIONS.contains(section);
+            if (!listSection && !OBJECT_SECTIONS.contains(section)) {
+                throw badRequest("Unknown section: " + section);
+            }
+            if (index != null && !listSection) {
+                throw badRequest("Only list sections can be indexed: " + operation.getPath());
+            }
+            if (field != null && listSection && index == null) {
+                throw badRequest("List items are addressed by index: " + operation.getPath());
+            }
+
+            String mongoPath = section
+                    + (index != null ? "." + index : "")
+                    + (field != null ? "." + field : "");
+
+            switch (operation.getOp() == null ? "" : operation.getOp()) {
+                case "replace" -> {
+                    claim(touchedPaths, mongoPath);
+                    Type target = sectionType(section);
+                    if (index != null) {
+                        if (field == null && operation.getValue() == null) {
+                            throw badRequest("replace of a list item requires a value: " + operation.getPath());
+                        }
+                        requiredPaths.add(section + "." + index);
+                        target = elementType(section);
+                    }
+                    if (field != null) {
+                        target = fieldType(target, field, operation.getPath());
+                    }
+                    update.set(mongoPath, convert(objectMapper, operation.getValue(), target, operation.getPath()));
+                }
+                case "add" -> {
+                    requireWholeList(listSection, index, field, operation);
+                    if (!pushes.containsKey(section)) {
+                        claim(touchedPaths, section);
+                    }
+                    pushes.computeIfAbsent(section, key -> new ArrayList<>())
+                            .add(convert(objectMapper, operation.getValue(), elementType(section), operation.getPath()));
+                }
+                case "remove" -> {
+                    requireWholeList(listSection, index, field, operation);
+                    claim(touchedPaths, section);
+                    update.pull(section, convert(objectMapper, operation.getValue(), elementType(section), operation.getPath()));
+                }
+                default -> throw badRequest("Unsupported op: " + operation.getOp());
+            }
+        }
+
+        pushes.forEach((section, values) -> update.push(section).each(values.toArray()));
+        return new Patch(update, requiredPaths);
+    }
+
+    private static Type sectionType(String section) {
+        return ReflectionUtils.findField(Resume.class, section).getGenericType();
+    }
+
+    private static Type elementType(String section) {
+        Type type = sectionType(section);
+        return type instanceof ParameterizedType list ? list.getActualTypeArguments()[0] : type;
+    }
+
+    // only the nested resume classes have fields; title, thumbnailLink and interests are plain strings
+    private static Type fieldType(Type owner, String field, String path) {
+        Field found = owner instanceof Class<?> type && type.getEnclosingClass() == Resume.class
+                ? ReflectionUtils.findField(type, field)
+                : null;
+        if (found == null) {
+            throw badRequest("Unknown field: " + path);
+        }
+        return found.getGenericType();
+    }
+
+    private static Object convert(ObjectMapper objectMapper, Object value, Type type, String path) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.convertValue(value, objectMapper.constructType(type));
+        } catch (IllegalArgumentException | JacksonException e) {
+            throw badRequest("Invalid value for " + path);
+        }
+    }
+
+    private static void requireWholeList(boolean listSection, String index, String field, ResumePatchOperation operation) {
+        if (!listSection || index != null || field != null) {
+            throw badRequest(operation.getOp() + " only applies to a whole list section: " + operation.getPath());
+        }
+        if (operation.getValue() == null) {
+            throw badRequest(operation.getOp() + " requires a value: " + operation.getPath());
+        }
+    }
+
+    // Mongo rejects one update touching a path and its parent/child, report it as a bad request instead
+    private static void claim(Set<String> touchedPaths, String path) {
+        for (String existing : touchedPaths) {
+            if (existing.equals(path) || existing.startsWith(path + ".") || path.startsWith(existing + ".")) {
+                throw badRequest("Conflicting operations on " + path);
+            }
+        }
+        touchedPaths.add(path);
+    }
+
+    private static ResponseStatusException badRequest(String message) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+    }
+}
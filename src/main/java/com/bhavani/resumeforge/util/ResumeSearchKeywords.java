@@ -0,0 +1,104 @@
+package com.bhavani.resumeforge.util;
+
+import com.bhavani.resumeforge.document.Resume;
+import com.bhavani.resumeforge.dto.ResumePatchOperation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Search keywords of a resume: the distinct lowercase words of its title, designation,
+ * skills, companies and project titles. They are stored on the resume as a multikey array
+ * so a prefix search is an index range scan per user. Free text (summary, descriptions) is
+ * left out: it is what autosave patches most, and it would make every keystroke rebuild them.
+ */
+public final class ResumeSearchKeywords {
+
+    // keeps c++, c#, node.js-style tokens readable: split on anything but letters, digits, + and #
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}+#]+");
+
+    private static final int MAX_KEYWORDS = 500;
+
+    private static final int MIN_LENGTH = 2;
+
+    private static final int MAX_LENGTH = 40;
+
+    // section -> the field of it (or of its items) the keywords are built from; "" is the section itself
+    private static final Map<String, String> KEYWORD_FIELDS = Map.of(
+            "title", "",
+            "profileInfo", "designation",
+            "skills", "name",
+            "workExperiences", "company",
+            "projects", "title");
+
+    private ResumeSearchKeywords() {
+    }
+
+    public static List<String> of(Resume resume) {
+        Set<String> keywords = new LinkedHashSet<>();
+        addAll(keywords, resume.getTitle());
+        if (resume.getProfileInfo() != null) {
+            addAll(keywords, resume.getProfileInfo().getDesignation());
+        }
+        if (resume.getSkills() != null) {
+            resume.getSkills().stream().filter(Objects::nonNull).forEach(skill -> addAll(keywords, skill.getName()));
+        }
+        if (resume.getWorkExperiences() != null) {
+            resume.getWorkExperiences().stream().filter(Objects::nonNull).forEach(work -> addAll(keywords, work.getCompany()));
+        }
+        if (resume.getProjects() != null) {
+            resume.getProjects().stream().filter(Objects::nonNull).forEach(project -> addAll(keywords, project.getTitle()));
+        }
+        return new ArrayList<>(keywords);
+    }
+
+    /**
+     * Lowercase words of a query or field, in order, without duplicates.
+     */
+    public static List<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        addAll(tokens, text);
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * Whether a patch can change the keywords: it writes a keyword field, or a whole section or
+     * list item that contains one. {@code workExperiences[2].description} does not,
+     * {@code workExperiences[2].company} and {@code workExperiences[2]} do.
+     */
+    public static boolean affects(List<ResumePatchOperation> operations) {
+        return operations.stream()
+                .map(ResumePatchOperation::getPath)
+                .filter(Objects::nonNull)
+                .anyMatch(ResumeSearchKeywords::affects);
+    }
+
+    private static boolean affects(String path) {
+        String keywordField = KEYWORD_FIELDS.get(path.split("[.\\[]", 2)[0]);
+        if (keywordField == null) {
+            return false;
+        }
+        int dot = path.lastIndexOf('.');
+        return dot < 0 || path.substring(dot + 1).equals(keywordField);
+    }
+
+    private static void addAll(Set<String> keywords, String text) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (keywords.size() >= MAX_KEYWORDS) {
+                return;
+            }
+            if (token.length() >= MIN_LENGTH) {
+                keywords.add(token.length() > MAX_LENGTH ? token.substring(0, MAX_LENGTH) : token);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.bhavani.resumeforge.integration;
+
+import com.bhavani.resumeforge.exception.OutboundUnavailableException;
+import com.razorpay.RazorpayException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OutboundGuardTest {
+
+    private final OutboundGuard guard = new OutboundGuard(new SimpleMeterRegistry(),
+            new MockEnvironment().withProperty("outbound.breaker.failure-threshold", "3"));
+
+    @Test
+    void clientErrorsDoNotOpenTheBreaker() {
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> guard.call("brevo", () -> {
+                throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+            })).isInstanceOf(HttpClientErrorException.class);
+            assertThatThrownBy(() -> guard.call("razorpay", () -> {
+                throw new RazorpayException("BAD_REQUEST_ERROR:Authentication failed");
+            })).isInstanceOf(RazorpayException.class);
+        }
+
+        assertThat(guard.call("brevo", () -> "sent")).isEqualTo("sent");
+        assertThat(guard.call("razorpay", () -> "order")).isEqualTo("order");
+    }
+
+    @Test
+    void serverAndIoErrorsOpenTheBreaker() {
+        assertThatThrownBy(() -> guard.call("brevo", () -> {
+            throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+        })).isInstanceOf(HttpServerErrorException.class);
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> guard.call("brevo", () -> {
+                throw new IOException("Read timed out");
+            })).isInstanceOf(IOException.class);
+        }
+
+        assertThatThrownBy(() -> guard.call("brevo", () -> "sent"))
+                .isInstanceOf(OutboundUnavailableException.class);
+    }
+}
@@ -0,0 +1,393 @@
+package com.bhavani.resumeforge.repository;
+
+import com.bhavani.resumeforge.document.EmailOutboxMessage;
+import com.bhavani.resumeforge.document.ImageAsset;
+import com.bhavani.resumeforge.document.JobCheckpoint;
+import com.bhavani.resumeforge.document.Payment;
+import com.bhavani.resumeforge.document.PaymentWebhookEvent;
+import com.bhavani.resumeforge.document.Resume;
+import com.bhavani.resumeforge.document.User;
+import com.bhavani.resumeforge.integration.OutboundGuard;
+import com.bhavani.resumeforge.security.UserSnapshotCache;
+import com.bhavani.resumeforge.service.EmailOutboxService;
+import com.bhavani.resumeforge.service.EmailService;
+import com.bhavani.resumeforge.service.ImageAssetService;
+import com.bhavani.resumeforge.service.PaymentReconciliationService;
+import com.bhavani.resumeforge.service.PaymentSettlementService;
+import com.bhavani.resumeforge.service.PaymentWebhookService;
+import com.bhavani.resumeforge.service.ProfileCache;
+import com.bhavani.resumeforge.support.MongoTestSupport;
+import com.bhavani.resumeforge.util.KeysetCursor;
+import com.cloudinary.Cloudinary;
+import com.razorpay.OrderClient;
+import com.razorpay.RazorpayClient;
+import com.razorpay.RazorpayException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Explains every repository query and every query the services build by hand against the
+ * declared index plan: each one must be answered by an index scan on its named index, in
+ * index order, without a collection scan or an in-memory sort. The only sort allowed is the
+ * search's bounded top-k. A query or index change that silently loses its plan fails here.
+ */
+class QueryPlanTest extends MongoTestSupport {
+
+    private static final String USER = "user-1";
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 15, 12, 0);
+
+    private static final String OPEN_ORDER_KEY = "user-1:premium";
+
+    private static final String MISSING_ID = "000000000000000000000000";
+
+    // the stages that read an index; IDHACK is the _id lookup of older servers
+    private static final Set<String> INDEX_STAGES = Set.of("IXSCAN", "COUNT_SCAN", "EXPRESS_IXSCAN", "IDHACK");
+
+    private static MongoRepositoryFactory repositories;
+
+    private static String resumeId;
+
+    private static Payment checkpointed;
+
+    @BeforeAll
+    static void seed() {
+        // a few users and states, so the planner has real alternatives to choose between
+        List<User> users = new ArrayList<>();
+        List<Resume> resumes = new ArrayList<>();
+        List<Payment> payments = new ArrayList<>();
+        List<EmailOutboxMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            users.add(User.builder()
+                    .id("user-" + i)
+                    .email("user-" + i + "@example.com")
+                    .password("hash-" + i)
+                    .subscriptionPlan("basic")
+                    .verificationToken(i == 0 ? null : "token-" + i)
+                    .build());
+        }
+        for (int i = 0; i < 60; i++) {
+            String user = "user-" + (i % 3);
+            resumes.add(Resume.builder()
+                    .userId(user)
+                    .title("Resume " + i)
+                    .searchKeywords(List.of("resume", "java", "engineer" + i))
+                    .revision(1L)
+                    .updatedAt(NOW.minusMinutes(i))
+                    .build());
+            payments.add(Payment.builder()
+                    .userID(user)
+                    .razorpayOrderId("order_" + i)
+                    .razorpayPaymentId(i % 2 == 0 ? "pay_" + i : null)
+                    .openOrderKey(i == 1 ? OPEN_ORDER_KEY : null)
+                    .status(i % 2 == 0 ? "paid" : "created")
+                    .createdAt(NOW.minusMinutes(i))
+                    .build());
+            messages.add(EmailOutboxMessage.builder()
+                    .messageKey("message-" + i)
+                    .recipient(user + "@example.com")
+                    .status(i % 3 == 0 ? EmailOutboxMessage.SENT : EmailOutboxMessage.PENDING)
+                    .nextAttemptAt(NOW.plusYears(1))
+                    .build());
+        }
+        mongoTemplate.insertAll(users);
+        mongoTemplate.insertAll(resumes);
+        mongoTemplate.insertAll(payments);
+        mongoTemplate.insertAll(messages);
+        repositories = new MongoRepositoryFactory(mongoTemplate);
+        resumeId = resumes.get(1).getId();
+        checkpointed = payments.get(31);
+    }
+
+    @Test
+    void userLookupsUseTheirUniqueIndexes() {
+        UserRepository users = repositories.getRepository(UserRepository.class);
+
+        users.findByEmail("user-1@example.com");
+        assertIndexed(single("users"), "email");
+        users.existsByEmail("user-1@example.com");
+        assertIndexed(single("users"), "email");
+        users.findByVerificationToken("token-1");
+        assertIndexed(single("users"), "verificationToken");
+
+        // the conditional writes all key on _id; none of these match, so the seed stays as it is
+        users.updatePassword(USER, "hash-new", "hash-stale");
+        assertIndexed(single("users"), "_id_");
+        users.changePassword(USER, "hash-new", "hash-stale", NOW);
+        assertIndexed(single("users"), "_id_");
+        users.upgradeSubscriptionPlan(USER, "basic", NOW);
+        assertIndexed(single("users"), "_id_");
+        users.revokeTokens(MISSING_ID);
+        assertIndexed(single("users"), "_id_");
+    }
+
+    @Test
+    void dashboardPagesWalkUserUpdatedIndex() {
+        ResumeRepositoryCustomImpl repository = new ResumeRepositoryCustomImpl(mongoTemplate);
+
+        repository.findSummaries(USER, null, 20);
+        repository.findSummaries(USER, new KeysetCursor(NOW.minusMinutes(30), MISSING_ID), 20);
+
+        List<BsonDocument> finds = commands("find");
+        assertThat(finds).hasSize(2);
+        finds.forEach(find -> assertIndexed(find, "user_updated_idx"));
+    }
+
+    @Test
+    void resumeLookupsUseUserUpdatedOrIdIndexes() {
+        ResumeRepository resumes = repositories.getRepository(ResumeRepository.class,
+                RepositoryFragments.just(new ResumeRepositoryCustomImpl(mongoTemplate)));
+
+        resumes.findByUserIdOrderByUpdatedAtDesc(USER);
+        assertIndexed(single("resumes"), "user_updated_idx");
+
+        resumes.findByUserIdAndId(USER, resumeId);
+        assertIndexed(single("resumes"), "_id_");
+        resumes.findRevision(USER, resumeId);
+        assertIndexed(single("resumes"), "_id_");
+        resumes.findImageLinks(USER, resumeId);
+        assertIndexed(single("resumes"), "_id_");
+        resumes.findSearchFields(USER, resumeId);
+        assertIndexed(single("resumes"), "_id_");
+
+        resumes.updateResume(USER, resumeId, null, List.of("title"), new Update().set("title", "Resume 1"), false);
+        assertIndexed(single("resumes"), "_id_");
+        // revision 0 adds the missing-field branch; the resume is past it, so nothing changes
+        resumes.updateResume(USER, resumeId, 0L, List.of(), new Update().set("title", "Resume 1"), false);
+        assertIndexed(single("resumes"), "_id_");
+        resumes.setSearchKeywords(resumeId, 0L, List.of());
+        assertIndexed(single("resumes"), "_id_");
+    }
+
+    @Test
+    void searchCandidatesRangeScanUserKeywordsIndex() {
+        ResumeRepositoryCustomImpl repository = new ResumeRepositoryCustomImpl(mongoTemplate);
+
+        repository.findSearchCandidates(USER, List.of("jav", "res"), 10);
+
+        // the matches come out of the keyword index in keyword order, so the top 10 by
+        // updatedAt is a bounded sort over them; anything unbounded would be a regression
+        List<Document> stages = winningStages(explain(single("resumes")));
+        assertThat(stages)
+                .extracting(stage -> stage.getString("stage"))
+                .contains("IXSCAN")
+                .doesNotContain("COLLSCAN");
+        assertThat(stages)
+                .filteredOn(stage -> INDEX_STAGES.contains(stage.getString("stage")))
+                .extracting(QueryPlanTest::indexName)
+                .containsOnly("user_keywords_idx");
+        assertThat(stages)
+                .filteredOn(stage -> "SORT".equals(stage.getString("stage")))
+                .allSatisfy(sort -> assertThat(sort.get("limitAmount", Number.class).intValue()).isEqualTo(10));
+    }
+
+    @Test
+    void paymentHistoryWalksUserCreatedIndexes() {
+        PaymentRepositoryCustomImpl repository = new PaymentRepositoryCustomImpl(mongoTemplate);
+        KeysetCursor after = new KeysetCursor(NOW.minusMinutes(30), MISSING_ID);
+
+        repository.findSummaries(USER, null, null, 20);
+        repository.findSummaries(USER, null, after, 20);
+        assertThat(commands("find")).hasSize(2)
+                .allSatisfy(find -> assertIndexed(find, "user_created_idx"));
+
+        clearCommands();
+        repository.findSummaries(USER, "paid", null, 20);
+        repository.findSummaries(USER, "paid", after, 20);
+        assertThat(commands("find")).hasSize(2)
+                .allSatisfy(find -> assertIndexed(find, "user_status_created_idx"));
+    }
+
+    @Test
+    void paymentLookupsUseTheirIndexes() {
+        PaymentRespository payments = repositories.getRepository(PaymentRespository.class,
+                RepositoryFragments.just(new PaymentRepositoryCustomImpl(mongoTemplate)));
+
+        payments.findByRazorpayOrderId("order_1");
+        assertIndexed(single("payments"), "razorpayOrderId");
+        payments.findByRazorpayPaymentId("pay_0");
+        assertIndexed(single("payments"), "razorpayPaymentId");
+        payments.findByOpenOrderKey(OPEN_ORDER_KEY);
+        assertIndexed(single("payments"), "openOrderKey");
+        // both keys are unique lookups; either one is a single-key plan
+        payments.releaseOpenOrderKey(MISSING_ID, OPEN_ORDER_KEY);
+        assertIndexed(single("payments"), "_id_", "openOrderKey");
+
+        payments.findByUserIDOrderByCreatedAtDesc(USER);
+        assertIndexed(single("payments"), "user_created_idx");
+        try (Stream<Payment> created = payments.findByStatus("created")) {
+            assertThat(created).isNotEmpty();
+        }
+        assertIndexed(single("payments"), "status_created_id_idx");
+    }
+
+    @Test
+    void reconciliationCursorWalksStatusCreatedIndex() throws Exception {
+        // every lookup fails, so the passes read the stale payments and change nothing
+        OrderClient orders = mock(OrderClient.class);
+        when(orders.fetch(anyString())).thenThrow(new RazorpayException("BAD_REQUEST_ERROR:The id provided does not exist"));
+        RazorpayClient razorpayClient = new RazorpayClient("rzp_test_plan", "secret");
+        ReflectionTestUtils.setField(razorpayClient, "orders", orders);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PaymentReconciliationService reconciliation = new PaymentReconciliationService(mongoTemplate, razorpayClient,
+                new OutboundGuard(meterRegistry, new MockEnvironment()), settlement(), meterRegistry);
+        ReflectionTestUtils.setField(reconciliation, "staleAfterMinutes", 60L);
+        ReflectionTestUtils.setField(reconciliation, "abandonAfterHours", 24L);
+        ReflectionTestUtils.setField(reconciliation, "chunkSize", 10);
+        ReflectionTestUtils.setField(reconciliation, "parallelism", 2);
+        ReflectionTestUtils.setField(reconciliation, "requestsPerSecond", 1000.0);
+        ReflectionTestUtils.setField(reconciliation, "leaseSeconds", 600L);
+        reconciliation.start();
+        try {
+            // a fresh pass, then one resuming from a checkpoint part way through
+            reconciliation.reconcile();
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is("payment-reconciliation")), new Update()
+                    .set("lastCreatedAt", checkpointed.getCreatedAt())
+                    .set("lastId", checkpointed.getId()), JobCheckpoint.class);
+            reconciliation.reconcile();
+        } finally {
+            reconciliation.stop();
+        }
+
+        assertThat(commandsOn("payments"))
+                .filteredOn(command -> command.containsKey("find"))
+                .hasSize(2)
+                .allSatisfy(find -> assertIndexed(find, "status_created_id_idx"));
+        assertThat(commandsOn("job_checkpoints"))
+                .isNotEmpty()
+                .allSatisfy(command -> assertIndexed(command, "_id_"));
+    }
+
+    @Test
+    void webhookClaimsWalkStatusAndLeaseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        List<PaymentWebhookEvent> events = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            // five to claim, the rest held by a live instance, so the lease token is the selective key
+            boolean pending = i < 5;
+            events.add(PaymentWebhookEvent.builder()
+                    .eventId("evt_" + i)
+                    .eventType("order.paid")
+                    .razorpayOrderId("order_unknown_" + i)
+                    .status(pending ? PaymentWebhookEvent.PENDING : PaymentWebhookEvent.APPLYING)
+                    .leaseToken(pending ? null : "other-instance")
+                    .lockedUntil(pending ? null : now.plusMinutes(10))
+                    .receivedAt(now.minusSeconds(i))
+                    .build());
+        }
+        mongoTemplate.insertAll(events);
+
+        PaymentWebhookService webhooks = new PaymentWebhookService(mongoTemplate, mock(ObjectMapper.class),
+                settlement(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(webhooks, "batchSize", 20);
+        ReflectionTestUtils.setField(webhooks, "leaseSeconds", 60L);
+
+        webhooks.applyPending();
+
+        // pending ids, expired-lease ids, the claim, the read-back by token, marking the batch applied
+        List<BsonDocument> commands = commandsOn("payment_webhook_events");
+        assertThat(commands).hasSize(5);
+        assertIndexed(commands.get(0), "status_received_idx");
+        assertIndexed(commands.get(1), "status_locked_idx");
+        // the ids bound the claim; the planner may also answer it from the two status branches
+        assertIndexed(commands.get(2), "_id_", "status_received_idx", "status_locked_idx");
+        assertIndexed(commands.get(3), "lease_token_idx");
+        assertIndexed(commands.get(4), "lease_token_idx");
+        // the settlement looks the orders up before writing anything
+        assertIndexed(single("payments"), "razorpayOrderId");
+    }
+
+    @Test
+    void outboxClaimsWalkStatusIndexes() {
+        EmailOutboxService outbox = new EmailOutboxService(mongoTemplate, mock(EmailService.class));
+        ReflectionTestUtils.setField(outbox, "batchSize", 20);
+        ReflectionTestUtils.setField(outbox, "leaseSeconds", 120L);
+
+        // nothing is due, so one pass issues the pending claim and the expired-lease claim once each
+        outbox.dispatchPending();
+
+        List<BsonDocument> claims = commands("findAndModify");
+        assertThat(claims).hasSize(2);
+        assertIndexed(claims.get(0), "status_next_attempt_idx");
+        assertIndexed(claims.get(1), "status_locked_idx");
+    }
+
+    @Test
+    void imageAssetsKeyOnContentAndUrl() throws Exception {
+        ImageAssetService assets = new ImageAssetService(mongoTemplate, new SimpleMeterRegistry(),
+                mock(Cloudinary.class), mock(OutboundGuard.class));
+        ImageAssetService.Upload upload = () -> ImageAsset.builder()
+                .secureUrl("https://res.cloudinary.com/demo/image/upload/plan.jpg")
+                .publicId("plan")
+                .bytes(10)
+                .build();
+
+        // a miss that uploads, then a hit on the same content
+        String url = assets.acquire("plan-content:512", upload);
+        assets.acquire("plan-content:512", upload);
+        assets.retain(url);
+        assets.release(url);
+
+        List<BsonDocument> commands = commandsOn("image_assets");
+        assertThat(commands).hasSize(4);
+        assertIndexed(commands.get(0), "contentKey");
+        assertIndexed(commands.get(1), "contentKey");
+        assertIndexed(commands.get(2), "secureUrl");
+        assertIndexed(commands.get(3), "secureUrl");
+    }
+
+    private static PaymentSettlementService settlement() {
+        return new PaymentSettlementService(mongoTemplate, mock(UserSnapshotCache.class), mock(ProfileCache.class));
+    }
+
+    /**
+     * The one query the last call sent to {@code collection}; clears the capture for the next call.
+     */
+    private BsonDocument single(String collection) {
+        List<BsonDocument> sent = commandsOn(collection);
+        assertThat(sent).as("queries sent to %s", collection).hasSize(1);
+        clearCommands();
+        return sent.get(0);
+    }
+
+    private static void assertIndexed(BsonDocument command, String... indexNames) {
+        List<Document> stages = winningStages(explain(command));
+        assertThat(stages)
+                .as("winning plan of %s", command.toJson())
+                .extracting(stage -> stage.getString("stage"))
+                .doesNotContain("COLLSCAN", "SORT");
+        assertThat(stages)
+                .filteredOn(stage -> INDEX_STAGES.contains(stage.getString("stage")))
+                .as("indexes scanned by %s", command.toJson())
+                .isNotEmpty()
+                .extracting(QueryPlanTest::indexName)
+                .isSubsetOf(indexNames);
+    }
+
+    private static String indexName(Document stage) {
+        return "IDHACK".equals(stage.getString("stage")) ? "_id_" : stage.getString("indexName");
+    }
+}
@@ -0,0 +1,66 @@
+package com.bhavani.resumeforge.repository;
+
+import com.bhavani.resumeforge.document.Resume;
+import com.bhavani.resumeforge.support.MongoTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The candidate cap of resume search: past the limit, the most recently updated matches win,
+ * in the same order on every call.
+ */
+class ResumeSearchCandidatesTest extends MongoTestSupport {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 15, 12, 0);
+
+    private ResumeRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void seed() {
+        repository = new ResumeRepositoryCustomImpl(mongoTemplate);
+        mongoTemplate.remove(new Query(), Resume.class);
+        for (int i = 0; i < 6; i++) {
+            resume("user-1", "Java developer " + i, List.of("java", "developer"), NOW.minusDays(i));
+        }
+        // same timestamp as the newest: _id breaks the tie
+        resume("user-1", "Java tie", List.of("java", "tie"), NOW);
+        resume("user-1", "Go developer", List.of("go", "developer"), NOW.plusDays(1));
+        resume("user-2", "Java elsewhere", List.of("java"), NOW.plusDays(1));
+    }
+
+    @Test
+    void capKeepsTheMostRecentlyUpdatedMatches() {
+        List<String> first = titles(repository.findSearchCandidates("user-1", List.of("jav"), 3));
+        List<String> second = titles(repository.findSearchCandidates("user-1", List.of("jav"), 3));
+
+        assertThat(first).containsExactly("Java tie", "Java developer 0", "Java developer 1");
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    void everyPrefixMustMatch() {
+        assertThat(titles(repository.findSearchCandidates("user-1", List.of("jav", "dev"), 10)))
+                .hasSize(6)
+                .allMatch(title -> title.startsWith("Java developer"));
+    }
+
+    private void resume(String userId, String title, List<String> keywords, LocalDateTime updatedAt) {
+        mongoTemplate.insert(Resume.builder()
+                .userId(userId)
+                .title(title)
+                .searchKeywords(keywords)
+                .revision(1L)
+                .updatedAt(updatedAt)
+                .build());
+    }
+
+    private static List<String> titles(List<Resume> resumes) {
+        return resumes.stream().map(Resume::getTitle).toList();
+    }
+}
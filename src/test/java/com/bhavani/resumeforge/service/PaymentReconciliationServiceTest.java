@@ -0,0 +1,195 @@
+package com.bhavani.resumeforge.service;
+
+import com.bhavani.resumeforge.document.JobCheckpoint;
+import com.bhavani.resumeforge.document.Payment;
+import com.bhavani.resumeforge.document.User;
+import com.bhavani.resumeforge.exception.OutboundUnavailableException;
+import com.bhavani.resumeforge.integration.OutboundGuard;
+import com.bhavani.resumeforge.security.UserSnapshotCache;
+import com.bhavani.resumeforge.support.MongoTestSupport;
+import com.razorpay.Order;
+import com.razorpay.OrderClient;
+import com.razorpay.RazorpayClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs reconciliation passes against a real mongod with Razorpay's order lookup stubbed:
+ * the stale-payment cursor, the bulk paid/abandoned outcomes, resuming from the checkpoint
+ * after Razorpay goes away, and the lease that keeps a second instance out.
+ */
+class PaymentReconciliationServiceTest extends MongoTestSupport {
+
+    private OrderClient orders;
+
+    private PaymentReconciliationService service;
+
+    private LocalDateTime now;
+
+    // stale and paid at Razorpay, stale and long abandoned, stale but still on a checkout screen
+    private Payment paid;
+    private Payment abandoned;
+    private Payment pending;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mongoTemplate.remove(new Query(), Payment.class);
+        mongoTemplate.remove(new Query(), User.class);
+        mongoTemplate.remove(new Query(), JobCheckpoint.class);
+
+        orders = mock(OrderClient.class);
+        RazorpayClient razorpayClient = new RazorpayClient("rzp_test_reconcile", "secret");
+        ReflectionTestUtils.setField(razorpayClient, "orders", orders);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PaymentSettlementService settlement = new PaymentSettlementService(mongoTemplate,
+                mock(UserSnapshotCache.class), mock(ProfileCache.class));
+        service = new PaymentReconciliationService(mongoTemplate, razorpayClient,
+                new OutboundGuard(meterRegistry, new MockEnvironment()), settlement, meterRegistry);
+        ReflectionTestUtils.setField(service, "staleAfterMinutes", 60L);
+        ReflectionTestUtils.setField(service, "abandonAfterHours", 24L);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "parallelism", 2);
+        ReflectionTestUtils.setField(service, "requestsPerSecond", 1000.0);
+        ReflectionTestUtils.setField(service, "leaseSeconds", 600L);
+        service.start();
+
+        now = LocalDateTime.now();
+        mongoTemplate.insert(User.builder().id("user-1").email("user-1@example.com").subscriptionPlan("basic").build());
+        paid = payment("order_paid", "created", now.minusDays(3));
+        abandoned = payment("order_abandoned", "created", now.minusDays(2));
+        pending = payment("order_pending", "created", now.minusHours(2));
+        // too young to reconcile, and already settled
+        payment("order_fresh", "created", now.minusMinutes(5));
+        payment("order_settled", "paid", now.minusDays(4));
+
+        when(orders.fetch("order_paid")).thenReturn(order("order_paid", "paid"));
+        when(orders.fetch("order_abandoned")).thenReturn(order("order_abandoned", "attempted"));
+        when(orders.fetch("order_pending")).thenReturn(order("order_pending", "created"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void passSettlesStalePaymentsAndClearsTheCheckpoint() throws Exception {
+        service.reconcile();
+
+        verify(orders).fetch("order_paid");
+        verify(orders).fetch("order_abandoned");
+        verify(orders).fetch("order_pending");
+        verify(orders, never()).fetch("order_fresh");
+        verify(orders, never()).fetch("order_settled");
+
+        assertThat(status(paid)).isEqualTo("paid");
+        assertThat(status(abandoned)).isEqualTo("abandoned");
+        assertThat(status(pending)).isEqualTo("created");
+        assertThat(mongoTemplate.findById("user-1", User.class).getSubscriptionPlan()).isEqualTo("premium");
+
+        JobCheckpoint checkpoint = checkpoint();
+        assertThat(checkpoint.getLastId()).isNull();
+        assertThat(checkpoint.getOwner()).isNull();
+    }
+
+    @Test
+    void pausedPassResumesAfterTheCheckpoint() throws Exception {
+        // the first chunk (paid, abandoned) goes through, Razorpay is gone for the second
+        doThrow(new OutboundUnavailableException("razorpay is temporarily unavailable")).when(orders).fetch("order_pending");
+
+        service.reconcile();
+
+        assertThat(status(paid)).isEqualTo("paid");
+        assertThat(status(abandoned)).isEqualTo("abandoned");
+        JobCheckpoint checkpoint = checkpoint();
+        assertThat(checkpoint.getLastId()).isEqualTo(abandoned.getId());
+        assertThat(checkpoint.getOwner()).as("lease released for the next run").isNull();
+
+        clearInvocations(orders);
+        doReturn(order("order_pending", "paid")).when(orders).fetch("order_pending");
+
+        service.reconcile();
+
+        verify(orders, never()).fetch("order_paid");
+        verify(orders, never()).fetch("order_abandoned");
+        verify(orders).fetch("order_pending");
+        assertThat(status(pending)).isEqualTo("paid");
+        assertThat(checkpoint().getLastId()).isNull();
+    }
+
+    @Test
+    void skipsThePassWhileAnotherInstanceHoldsTheLease() {
+        mongoTemplate.insert(JobCheckpoint.builder()
+                .jobName(PaymentReconciliationService.JOB_NAME)
+                .owner("other-instance")
+                .lockedUntil(now.plusMinutes(5))
+                .build());
+
+        service.reconcile();
+
+        verifyNoInteractions(orders);
+        assertThat(status(paid)).isEqualTo("created");
+        assertThat(checkpoint().getOwner()).isEqualTo("other-instance");
+    }
+
+    @Test
+    void takesOverAnExpiredLeaseFromItsCheckpoint() throws Exception {
+        mongoTemplate.insert(JobCheckpoint.builder()
+                .jobName(PaymentReconciliationService.JOB_NAME)
+                .lastCreatedAt(paid.getCreatedAt())
+                .lastId(paid.getId())
+                .owner("crashed-instance")
+                .lockedUntil(now.minusMinutes(1))
+                .build());
+
+        service.reconcile();
+
+        verify(orders, never()).fetch("order_paid");
+        verify(orders).fetch("order_abandoned");
+        verify(orders).fetch("order_pending");
+        assertThat(status(paid)).isEqualTo("created");
+        assertThat(status(abandoned)).isEqualTo("abandoned");
+        assertThat(checkpoint().getOwner()).isNull();
+    }
+
+    private Payment payment(String orderId, String status, LocalDateTime createdAt) {
+        return mongoTemplate.insert(Payment.builder()
+                .userID("user-1")
+                .razorpayOrderId(orderId)
+                .planType("premium")
+                .status(status)
+                .createdAt(createdAt)
+                .build());
+    }
+
+    private String status(Payment payment) {
+        return mongoTemplate.findById(payment.getId(), Payment.class).getStatus();
+    }
+
+    private JobCheckpoint checkpoint() {
+        return mongoTemplate.findById(PaymentReconciliationService.JOB_NAME, JobCheckpoint.class);
+    }
+
+    private static Order order(String id, String status) {
+        return new Order(new JSONObject().put("id", id).put("entity", "order").put("status", status));
+    }
+}
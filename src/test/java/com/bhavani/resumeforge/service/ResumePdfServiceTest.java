@@ -0,0 +1,55 @@
+package com.bhavani.resumeforge.service;
+
+import com.bhavani.resumeforge.document.Resume;
+import com.bhavani.resumeforge.pdf.ResumePdfRenderer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResumePdfServiceTest {
+
+    private ResumePdfService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ResumePdfService(new ResumePdfRenderer(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "threads", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", 4);
+        ReflectionTestUtils.setField(service, "timeoutMs", 15_000L);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"01", "02", "03"})
+    void rendersResumesWithNullListItems(String templateId) {
+        Resume resume = Resume.builder()
+                .title("Backend resume")
+                .template(new Resume.Template(templateId, List.of()))
+                .workExperiences(Arrays.asList(null, Resume.WorkExperience.builder().company("Acme").build()))
+                .educations(Arrays.asList((Resume.Education) null))
+                .projects(Arrays.asList((Resume.Project) null))
+                .certifications(Arrays.asList((Resume.Certification) null))
+                .skills(Arrays.asList((Resume.Skill) null))
+                .languages(Arrays.asList((Resume.Language) null))
+                .interests(Arrays.asList((String) null))
+                .build();
+
+        byte[] pdf = service.renderToBytes(resume);
+
+        assertThat(new String(pdf, 0, 5, StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+    }
+}
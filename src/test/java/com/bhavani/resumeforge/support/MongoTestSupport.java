@@ -0,0 +1,162 @@
+package com.bhavani.resumeforge.support;
+
+import com.bhavani.resumeforge.config.MongoIndexInitializer;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Base for tests that need a real mongod with the declared index plan. Starts a
+ * {@link LocalMongod} ({@code -Dtest.mongod=/path/to/mongod}) or uses the server at
+ * {@code -Dtest.mongodb-uri}. Without either the tests fail rather than pass having checked
+ * nothing; {@code -Dtest.mongo.optional=true} skips them instead on a machine without mongod.
+ * Every command the client sends is captured so a test can explain the exact query
+ * the code under test issued.
+ */
+public abstract class MongoTestSupport {
+
+    private static final String DATABASE = "resumeforge_test";
+
+    // session and routing fields the driver adds; explain rejects them inside the wrapped command
+    private static final Set<String> DRIVER_FIELDS = Set.of("lsid", "txnNumber", "$db", "$clusterTime", "$readPreference");
+
+    private static final Set<String> QUERY_COMMANDS = Set.of("find", "findAndModify", "update", "delete", "count", "aggregate");
+
+    private static final List<BsonDocument> COMMANDS = new CopyOnWriteArrayList<>();
+
+    private static LocalMongod mongod;
+
+    private static MongoClient client;
+
+    protected static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void startMongo() throws InterruptedException {
+        String uri = System.getProperty("test.mongodb-uri", "");
+        if (uri.isBlank()) {
+            try {
+                mongod = LocalMongod.start(System.getProperty("test.mongod", "mongod"));
+            } catch (IOException e) {
+                assumeFalse(Boolean.getBoolean("test.mongo.optional"), "no mongod available: " + e.getMessage());
+                throw new IllegalStateException("No mongod available; set -Dtest.mongod=/path/to/mongod or "
+                        + "-Dtest.mongodb-uri, or -Dtest.mongo.optional=true to skip the Mongo tests", e);
+            }
+            uri = mongod.uri(DATABASE);
+        }
+
+        CommandListener recorder = new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                COMMANDS.add(event.getCommand().clone());
+            }
+        };
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .addCommandListener(recorder)
+                .build());
+        mongoTemplate = new MongoTemplate(client, DATABASE);
+        mongoTemplate.getDb().drop();
+        new MongoIndexInitializer(mongoTemplate, new MongoMappingContext()).ensureIndexes();
+    }
+
+    @AfterAll
+    static void stopMongo() throws IOException, InterruptedException {
+        if (client != null) {
+            client.close();
+        }
+        if (mongod != null) {
+            mongod.close();
+        }
+    }
+
+    @BeforeEach
+    protected void clearCommands() {
+        COMMANDS.clear();
+    }
+
+    /**
+     * The commands named {@code name} (find, findAndModify, ...) sent since the test started, in order.
+     */
+    protected static List<BsonDocument> commands(String name) {
+        return COMMANDS.stream().filter(command -> command.containsKey(name)).toList();
+    }
+
+    /**
+     * The query commands (find, findAndModify, update, delete, count, aggregate) sent to
+     * {@code collection} since the test started, in order.
+     */
+    protected static List<BsonDocument> commandsOn(String collection) {
+        return COMMANDS.stream()
+                .filter(command -> QUERY_COMMANDS.contains(command.getFirstKey()))
+                .filter(command -> new BsonString(collection).equals(command.get(command.getFirstKey())))
+                .toList();
+    }
+
+    /**
+     * Explains a captured command as the planner would run it, without executing it.
+     */
+    protected static Document explain(BsonDocument command) {
+        BsonDocument explained = new BsonDocument();
+        command.forEach((key, value) -> {
+            if (!DRIVER_FIELDS.contains(key)) {
+                explained.append(key, value);
+            }
+        });
+        return mongoTemplate.getDb().runCommand(new BsonDocument("explain", explained)
+                .append("verbosity", new BsonString("queryPlanner")));
+    }
+
+    /**
+     * Every stage of the winning plan, outermost first. A pipeline the server does not push
+     * down into the query layer nests its plan under the {@code $cursor} stage; it is found there.
+     */
+    protected static List<Document> winningStages(Document explain) {
+        List<Document> stages = new ArrayList<>();
+        collectWinningPlans(explain, stages);
+        return stages;
+    }
+
+    private static void collectWinningPlans(Object node, List<Document> stages) {
+        if (node instanceof Document document) {
+            document.forEach((key, value) -> {
+                if ("winningPlan".equals(key)) {
+                    collectStages(value, stages);
+                } else {
+                    collectWinningPlans(value, stages);
+                }
+            });
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectWinningPlans(value, stages));
+        }
+    }
+
+    private static void collectStages(Object node, List<Document> stages) {
+        if (node instanceof Document document) {
+            if (document.containsKey("stage")) {
+                stages.add(document);
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+}
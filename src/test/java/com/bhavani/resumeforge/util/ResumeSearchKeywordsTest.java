@@ -0,0 +1,64 @@
+package com.bhavani.resumeforge.util;
+
+import com.bhavani.resumeforge.document.Resume;
+import com.bhavani.resumeforge.dto.ResumePatchOperation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResumeSearchKeywordsTest {
+
+    @Test
+    void keywordsComeFromTheShortFieldsOnly() {
+        Resume resume = Resume.builder()
+                .title("Backend resume")
+                .profileInfo(Resume.ProfileInfo.builder().designation("Engineer").summary("Loves distributed systems").build())
+                .skills(List.of(Resume.Skill.builder().name("Kotlin").build()))
+                .workExperiences(List.of(Resume.WorkExperience.builder().company("Acme").description("Shipped payments").build()))
+                .projects(List.of(Resume.Project.builder().title("Ledger").build()))
+                .build();
+
+        assertThat(ResumeSearchKeywords.of(resume))
+                .containsExactly("backend", "resume", "engineer", "kotlin", "acme", "ledger");
+    }
+
+    @Test
+    void keywordsAreCapped() {
+        Resume resume = Resume.builder()
+                .skills(IntStream.range(0, 1000).mapToObj(i -> Resume.Skill.builder().name("skill" + i).build()).toList())
+                .build();
+
+        assertThat(ResumeSearchKeywords.of(resume)).hasSize(500).startsWith("skill0");
+    }
+
+    @Test
+    void onlyPatchesOfKeywordFieldsAffectTheKeywords() {
+        assertThat(affects("profileInfo.summary")).isFalse();
+        assertThat(affects("workExperiences[2].description")).isFalse();
+        assertThat(affects("projects[0].description")).isFalse();
+        assertThat(affects("educations")).isFalse();
+        assertThat(affects("template")).isFalse();
+
+        assertThat(affects("title")).isTrue();
+        assertThat(affects("profileInfo")).isTrue();
+        assertThat(affects("profileInfo.designation")).isTrue();
+        assertThat(affects("skills")).isTrue();
+        assertThat(affects("skills[1].name")).isTrue();
+        assertThat(affects("workExperiences[2]")).isTrue();
+        assertThat(affects("workExperiences[2].company")).isTrue();
+        assertThat(affects("projects[0].title")).isTrue();
+    }
+
+    @Test
+    void tokensAreLowercaseDistinctAndKeepLanguageNames() {
+        assertThat(ResumeSearchKeywords.tokenize("C++ and c++, Node.js C# a"))
+                .containsExactly("c++", "and", "node", "js", "c#");
+    }
+
+    private static boolean affects(String path) {
+        return ResumeSearchKeywords.affects(List.of(new ResumePatchOperation("replace", path, "value")));
+    }
+}
@@ -0,0 +1,83 @@
+package com.bhavani.resumeforge.support;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * A throwaway mongod on a free port with a temporary data directory, removed on close.
+ * Shared by the integration tests and the load-test harness.
+ */
+public final class LocalMongod implements AutoCloseable {
+
+    private final Process process;
+
+    private final Path dbPath;
+
+    private final int port;
+
+    private LocalMongod(Process process, Path dbPath, int port) {
+        this.process = process;
+        this.dbPath = dbPath;
+        this.port = port;
+    }
+
+    public static LocalMongod start(String binary) throws IOException, InterruptedException {
+        int port = freePort();
+        Path dbPath = Files.createTempDirectory("resumeforge-mongo");
+        Process process = new ProcessBuilder(binary,
+                "--port", String.valueOf(port),
+                "--dbpath", dbPath.toString(),
+                "--bind_ip", "127.0.0.1")
+                .redirectErrorStream(true)
+                .redirectOutput(dbPath.resolve("mongod.log").toFile())
+                .start();
+
+        LocalMongod mongod = new LocalMongod(process, dbPath, port);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!mongod.accepting()) {
+            if (!process.isAlive() || System.nanoTime() > deadline) {
+                mongod.close();
+                throw new IOException("mongod did not start, see " + dbPath.resolve("mongod.log"));
+            }
+            Thread.sleep(200);
+        }
+        return mongod;
+    }
+
+    public String uri(String database) {
+        return "mongodb://127.0.0.1:" + port + "/" + database;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private boolean accepting() {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("127.0.0.1", port), 200);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void close() throws IOException, InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+        try (Stream<Path> files = Files.walk(dbPath)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}